@@ -0,0 +1,124 @@
+package controller;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+
+/**	class for converting dates between LocalDate objects and the dd/MM/yyyy text they are entered,
+ * 	shown and stored as
+ * 
+ * 	Shared by everything that reads or writes a date; it holds no mutable state, so it is safe to use
+ * 	from any thread. Parsing the usual d/M/yyyy layout (one or two digit day and month) reads the digits
+ * 	directly instead of going through a formatter, and dates that do not exist (such as 31/02/2020) are
+ * 	rejected rather than rolled over.
+ * 
+ * @author Regan Lynch
+ *
+ */
+public class DateCodec {
+	
+	/** DateTimeFormatter for the dd/MM/yyyy layout; strict, so nonexistent dates are rejected */
+	public static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT);
+	
+	/**	parses text in the d/M/yyyy layout (day and month may be one or two digits) into a LocalDate
+	 * 
+	 * @param text
+	 * @return	the LocalDate described by the text, or null if the text is not a valid date in that layout
+	 */
+	public static LocalDate parse(String text) {
+		if(text == null) {
+			return null;
+		}
+		int firstSlash = text.indexOf('/');
+		int secondSlash = firstSlash < 0 ? -1 : text.indexOf('/', firstSlash + 1);
+		if(firstSlash < 1 || firstSlash > 2 || secondSlash - firstSlash < 2 || secondSlash - firstSlash > 3 || text.length() - secondSlash != 5) {
+			return parseFormatted(text);
+		}
+		int day = digits(text, 0, firstSlash);
+		int month = digits(text, firstSlash + 1, secondSlash);
+		int year = digits(text, secondSlash + 1, text.length());
+		if(day < 0 || month < 0 || year < 0) {
+			return null;
+		}
+		try {
+			return LocalDate.of(year, month, day);
+		}
+		catch(DateTimeException e) {
+			return null;
+		}
+	}
+	
+	/**	formats a LocalDate as dd/MM/yyyy text
+	 * 
+	 * @param date
+	 * @return	the dd/MM/yyyy text for the date, or null if the date is null
+	 */
+	public static String format(LocalDate date) {
+		if(date == null) {
+			return null;
+		}
+		int year = date.getYear();
+		if(year < 0 || year > 9999) {
+			return FORMATTER.format(date);
+		}
+		char[] out = new char[10];
+		twoDigits(out, 0, date.getDayOfMonth());
+		out[2] = '/';
+		twoDigits(out, 3, date.getMonthValue());
+		out[5] = '/';
+		twoDigits(out, 6, year / 100);
+		twoDigits(out, 8, year % 100);
+		return new String(out);
+	}
+	
+	/**	checks whether text is a valid date in the d/M/yyyy layout
+	 * 
+	 * @param text
+	 * @return	true if parse(text) would return a date, false otherwise
+	 */
+	public static boolean isValid(String text) {
+		return parse(text) != null;
+	}
+	
+	/**		reads the decimal digits in text between start and end, or -1 if any are not digits
+	 * @param text
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	private static int digits(String text, int start, int end) {
+		int out = 0;
+		for(int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if(c < '0' || c > '9') {
+				return -1;
+			}
+			out = out * 10 + (c - '0');
+		}
+		return out;
+	}
+	
+	/**		writes a value from 0 to 99 as two digits into out at position
+	 * @param out
+	 * @param position
+	 * @param value
+	 */
+	private static void twoDigits(char[] out, int position, int value) {
+		out[position] = (char)('0' + value / 10);
+		out[position + 1] = (char)('0' + value % 10);
+	}
+	
+	/**		parses text of any other shape with FORMATTER, or null if it does not match
+	 * @param text
+	 * @return
+	 */
+	private static LocalDate parseFormatted(String text) {
+		try {
+			return LocalDate.parse(text, FORMATTER);
+		}
+		catch(DateTimeException e) {
+			return null;
+		}
+	}
+}
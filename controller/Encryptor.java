@@ -1,12 +1,19 @@
 package controller;
 
-import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 
 /**	class for creating salt-hash encrypted strings
  * 
+ * 	Everything that is costly to set up is made once and reused: one SecureRandom (seeded once, and
+ * 	safe to share between threads) for every salt, and for each thread its own SHA-256 MessageDigest
+ * 	and byte buffers. The salt and password are encoded as UTF-8 straight into the thread's buffer
+ * 	and hashed from there, so hashing allocates nothing but the returned String. The results are
+ * 	the same as hashing (salt + password).getBytes(UTF_8), so stored hashes still match.
+ * 
+ * 	Safe to use from any thread; EncryptorTest checks its hashes against a plain SHA-256, and
+ * 	jmh/benchmark/HashBenchmark measures its throughput.
  * 
  * @author Regan Lynch
  *
@@ -14,7 +21,19 @@ import java.security.SecureRandom;
 public class Encryptor {
 	
 	private static final int SALT_LENGTH = 10;
-
+	
+	/** the name of the digest algorithm used for hashing */
+	private static final String ALGORITHM = "SHA-256";
+	
+	/** shared source of salts; SecureRandom is thread-safe, and is only seeded the first time it is used */
+	private static final SecureRandom RANDOM = new SecureRandom();
+	
+	/** each thread's own digest, reset after every use */
+	private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> newDigest());
+	
+	/** each thread's own buffers: [0] holds the encoded salt and password (grown as needed), [1] the digest */
+	private static final ThreadLocal<byte[][]> BUFFERS = ThreadLocal.withInitial(() -> new byte[][] {new byte[64], new byte[32]});
+	
 	
 	/**	creates a salted-hash HEX representation of a password using SHA-256, using only a password, creating a unique salt
 	 * 
@@ -23,8 +42,7 @@ public class Encryptor {
 	 */
 	public static String[] createSaltedHash(String pass) {
 		String salt = createSalt(pass);
-		String saltedPass = salt + pass;
-		String hashedSaltedPass = createHash(saltedPass);
+		String hashedSaltedPass = createSaltedHash(pass, salt);
 		return new String[] {hashedSaltedPass, salt};
 	}
 	
@@ -34,39 +52,44 @@ public class Encryptor {
 	 * @return
 	 */
 	public static String createSaltedHash(String pass, String salt) {
-		String saltedPass = salt + pass;
-		String hashedSaltedPass = createHash(saltedPass);
-		return hashedSaltedPass;
+		return createHash(salt, pass);
 	}
 	
-	/**		creates the HEX salt for a given password 
+	/**		creates the HEX salt for a given password
 	 * @param pass
 	 * @return
 	 */
-	private static String createSalt(String pass) {
-		SecureRandom random = new SecureRandom();
+	static String createSalt(String pass) {
 		byte bytes[] = new byte[SALT_LENGTH];
-		random.nextBytes(bytes);
-		return bytesToHex(bytes);
-
+		RANDOM.nextBytes(bytes);
+		return bytesToHex(bytes, bytes.length);
+	
 	}
 	
 	
-	/**		creates a HEX value representation of a string using SHA-256 
-	 * @param saltedPass
-	 * @return
+	/**		creates a HEX value representation of the salt followed by the password using SHA-256
+	 * @param salt
+	 * @param pass
+	 * @return	the hex representation of the hash, or null if SHA-256 is unavailable
 	 */
-	private static String createHash(String saltedPass){
-		MessageDigest digest = null;
+	private static String createHash(String salt, String pass){
+		MessageDigest digest = DIGEST.get();
+		if(digest == null) {
+			return null;
+		}
+		byte[][] buffers = BUFFERS.get();
+		int length = encode(salt, buffers, 0);
+		length = encode(pass, buffers, length);
+		digest.update(buffers[0], 0, length);
 		try {
-			digest = MessageDigest.getInstance("SHA-256");
-			byte[] hash = digest.digest(saltedPass.getBytes(StandardCharsets.UTF_8));		
-			return bytesToHex(hash);
-		} catch (NoSuchAlgorithmException e) {
+			int size = digest.digest(buffers[1], 0, buffers[1].length);
+			return bytesToHex(buffers[1], size);
+		} catch (Exception e) {
+			digest.reset();
 			e.printStackTrace();
 		}
 		return null;
-		
+	
 	}
 	
 	
@@ -74,14 +97,15 @@ public class Encryptor {
 	
 	private final static char[] hexArray = "0123456789ABCDEF".toCharArray();
 	
-	/**	converts a byte array to a string HEX representation
+	/**	converts the first length bytes of a byte array to a string HEX representation
 	 * 
 	 * @param bytes
+	 * @param length
 	 * @return
 	 */
-	private static String bytesToHex(byte[] bytes) {
-	    char[] hexChars = new char[bytes.length * 2];
-	    for ( int j = 0; j < bytes.length; j++ ) {
+	static String bytesToHex(byte[] bytes, int length) {
+	    char[] hexChars = new char[length * 2];
+	    for ( int j = 0; j < length; j++ ) {
 	        int v = bytes[j] & 0xFF;
 	        hexChars[j * 2] = hexArray[v >>> 4];
 	        hexChars[j * 2 + 1] = hexArray[v & 0x0F];
@@ -89,4 +113,61 @@ public class Encryptor {
 	    return new String(hexChars);
 	}
 	
+	/**	appends the UTF-8 encoding of a string to the thread's text buffer, growing it if needed; like
+	 * 	String.getBytes(UTF_8), unpaired surrogates are encoded as '?'
+	 * 
+	 * @param text
+	 * @param buffers
+	 * @param at - where in the text buffer to start writing
+	 * @return	where in the text buffer the encoded text ends
+	 */
+	private static int encode(String text, byte[][] buffers, int at) {
+		int length = text.length();
+		if(buffers[0].length < at + length * 3) {
+			byte[] grown = new byte[Math.max(buffers[0].length * 2, at + length * 3)];
+			System.arraycopy(buffers[0], 0, grown, 0, at);
+			buffers[0] = grown;
+		}
+		byte[] out = buffers[0];
+		for(int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if(c < 0x80) {
+				out[at++] = (byte)c;
+			}
+			else if(c < 0x800) {
+				out[at++] = (byte)(0xC0 | (c >> 6));
+				out[at++] = (byte)(0x80 | (c & 0x3F));
+			}
+			else if(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+				int code = Character.toCodePoint(c, text.charAt(++i));
+				out[at++] = (byte)(0xF0 | (code >> 18));
+				out[at++] = (byte)(0x80 | ((code >> 12) & 0x3F));
+				out[at++] = (byte)(0x80 | ((code >> 6) & 0x3F));
+				out[at++] = (byte)(0x80 | (code & 0x3F));
+			}
+			else if(Character.isSurrogate(c)) {
+				out[at++] = (byte)'?';
+			}
+			else {
+				out[at++] = (byte)(0xE0 | (c >> 12));
+				out[at++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+				out[at++] = (byte)(0x80 | (c & 0x3F));
+			}
+		}
+		return at;
+	}
+	
+	/**	creates a new SHA-256 digest for a thread
+	 * 
+	 * @return	the MessageDigest, or null if SHA-256 is unavailable
+	 */
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+	
 }
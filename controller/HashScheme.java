@@ -0,0 +1,104 @@
+package controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**	enum of the ways a password may be hashed, each named by the id written into stored hashes
+ * 
+ * 	Each scheme hashes a password (or, when a stored hash is strengthened without its password,
+ * 	the hex of an inner hash) with a salt at a given cost, giving the uppercase hex of the result.
+ * 	What the cost means is up to the scheme; a higher cost is always slower. Another scheme is added
+ * 	by adding a constant with a new id; ids already written to the Database must keep their meaning.
+ * 
+ * 	Safe to use from any thread.
+ * 
+ * @author Regan Lynch
+ * 
+ */
+public enum HashScheme {
+	
+	/** single-pass SHA-256 over salt + password, as every hash was before schemes were named; the cost is ignored */
+	SHA256("sha256") {
+		@Override
+		public String hash(String pass, String salt, int cost) {
+			return Encryptor.createSaltedHash(pass, salt);
+		}
+	},
+	/** PBKDF2 with HMAC-SHA256, running 2^cost iterations and giving 256 bits */
+	PBKDF2("pbkdf2") {
+		@Override
+		public String hash(String pass, String salt, int cost) {
+			SecretKeyFactory factory = PBKDF2_FACTORY.get();
+			if(factory == null) {
+				return null;
+			}
+			PBEKeySpec spec = new PBEKeySpec(pass.toCharArray(), salt.getBytes(StandardCharsets.UTF_8), 1 << Math.min(Math.max(cost, 0), MAX_COST), 256);
+			try {
+				byte[] out = factory.generateSecret(spec).getEncoded();
+				return Encryptor.bytesToHex(out, out.length);
+			} catch (InvalidKeySpecException e) {
+				e.printStackTrace();
+			} finally {
+				spec.clearPassword();
+			}
+			return null;
+		}
+	};
+	
+	/** the highest cost any scheme will run at, however high a stored or configured cost is */
+	public static final int MAX_COST = 30;
+	
+	/** each thread's own PBKDF2 key factory */
+	private static final ThreadLocal<SecretKeyFactory> PBKDF2_FACTORY = ThreadLocal.withInitial(() -> newFactory("PBKDF2WithHmacSHA256"));
+	
+	/** the name of this scheme as written into stored hashes */
+	private final String id;
+	
+	
+	private HashScheme(String idIn) {
+		id = idIn;
+	}
+	
+	/**	hashes a password with a salt at the given cost
+	 * 
+	 * @param pass
+	 * @param salt
+	 * @param cost
+	 * @return	the hex representation of the hash, or null if the algorithm is unavailable
+	 */
+	public abstract String hash(String pass, String salt, int cost);
+	
+	public String getId() {
+		return id;
+	}
+	
+	/**	finds the scheme written into stored hashes as the given id
+	 * 
+	 * @param id
+	 * @return	the HashScheme, or null if no scheme has that id
+	 */
+	public static HashScheme forId(String id) {
+		for(HashScheme scheme : values()) {
+			if(scheme.id.equals(id)) {
+				return scheme;
+			}
+		}
+		return null;
+	}
+	
+	
+	//------------ helper methods ----------------------------------------------------------
+	
+	private static SecretKeyFactory newFactory(String algorithm) {
+		try {
+			return SecretKeyFactory.getInstance(algorithm);
+		} catch (NoSuchAlgorithmException e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+	
+}
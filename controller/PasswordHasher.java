@@ -0,0 +1,202 @@
+package controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**	class for creating and checking the stored form of passwords, which names how it was hashed
+ * 
+ * 	A stored hash is written as $scheme$cost$hex, where scheme is a HashScheme id. A hash that was
+ * 	strengthened without its password (see strengthen) lists each layer, outermost first, as in
+ * 	$pbkdf2$17$sha256$0$hex: the password is hashed by the innermost layer, and the hex of that by
+ * 	each layer outside it. A bare hex string is a hash from before schemes were named, and is read
+ * 	as $sha256$0$hex. Every layer uses the user's salt.
+ * 
+ * 	New hashes use the scheme and cost set by -Dpanyk.hash.scheme (default pbkdf2) and
+ * 	-Dpanyk.hash.cost (default 17); a stored hash made any other way needsRehash(), so raising the
+ * 	cost upgrades each user as they next log in.
+ * 
+ * 	A costly hash should not run on the thread handling input, so submit() runs hashing on a fixed
+ * 	pool of -Dpanyk.hash.threads threads (default half the processors) with room for
+ * 	-Dpanyk.hash.backlog waiting tasks (default 32). When that is full, further tasks are refused
+ * 	(see isBusy) rather than queued without limit, so a burst of logins cannot stall the program.
+ * 
+ * @author Regan Lynch
+ * 
+ */
+public class PasswordHasher {
+	
+	/** the scheme new hashes are made with */
+	public static final HashScheme SCHEME = schemeFor(System.getProperty("panyk.hash.scheme", HashScheme.PBKDF2.getId()));
+	
+	/** the cost new hashes are made at */
+	public static final int COST = Math.min(Math.max(Integer.getInteger("panyk.hash.cost", 17), 0), HashScheme.MAX_COST);
+	
+	/** how many hashes may run at once on the hashing threads */
+	private static final int THREADS = Math.max(1, Integer.getInteger("panyk.hash.threads", Runtime.getRuntime().availableProcessors() / 2));
+	
+	/** how many hashing tasks may wait for a thread before more are refused */
+	private static final int BACKLOG = Math.max(1, Integer.getInteger("panyk.hash.backlog", 32));
+	
+	/** the threads hashing runs on */
+	private static final ThreadPoolExecutor HASHERS = new ThreadPoolExecutor(THREADS, THREADS, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(BACKLOG), runnable -> {
+		Thread hasher = new Thread(runnable, "PasswordHasher");
+		hasher.setDaemon(true);
+		return hasher;
+	}, new ThreadPoolExecutor.AbortPolicy());
+	
+	
+	/**	creates the stored form of a password with a new salt, using the configured scheme and cost;
+	 * 	runs on the calling thread
+	 * 
+	 * @param pass
+	 * @return	a string array where index 0 is the stored hash and index 1 is the hex representation of the salt
+	 */
+	public static String[] create(String pass) {
+		String salt = Encryptor.createSalt(pass);
+		String hash = SCHEME.hash(pass, salt, COST);
+		if(hash == null) {
+			return Encryptor.createSaltedHash(pass);
+		}
+		return new String[] {"$" + SCHEME.getId() + "$" + COST + "$" + hash, salt};
+	}
+	
+	/**	creates the stored form of a password as create() does, on the hashing threads
+	 * 
+	 * @param pass
+	 * @return	a future completed with the result of create(), or failed if the hashing threads are busy
+	 */
+	public static CompletableFuture<String[]> createAsync(String pass) {
+		return submit(() -> create(pass));
+	}
+	
+	/**	checks a password against its stored hash and salt, whatever scheme made it; runs on the calling thread
+	 * 
+	 * @param pass
+	 * @param stored
+	 * @param salt
+	 * @return	true if the password matches, false if it does not or the stored hash cannot be read
+	 */
+	public static boolean verify(String pass, String stored, String salt) {
+		String[] parts = layers(stored);
+		if(pass == null || salt == null || parts == null) {
+			return false;
+		}
+		String value = pass;
+		for(int i = parts.length - 3; i >= 1 && value != null; i -= 2) {
+			value = HashScheme.forId(parts[i]).hash(value, salt, Integer.parseInt(parts[i + 1]));
+		}
+		return value != null && MessageDigest.isEqual(value.getBytes(StandardCharsets.UTF_8), parts[parts.length - 1].getBytes(StandardCharsets.UTF_8));
+	}
+	
+	/**	checks whether a stored hash was made other than by create() with the current scheme and cost
+	 * 
+	 * @param stored
+	 * @return	true if the password should be hashed again once it is known
+	 */
+	public static boolean needsRehash(String stored) {
+		String[] parts = layers(stored);
+		return parts == null || parts.length != 4 || !isCurrent(parts);
+	}
+	
+	/**	wraps a stored hash in an outer layer of the current scheme and cost, without the password, so
+	 * 	that a weak hash can be made costly to attack before its user next logs in; the password still
+	 * 	verifies, and still needsRehash() so it is hashed plainly at login
+	 * 
+	 * @param stored
+	 * @param salt
+	 * @return	the strengthened stored hash, or null if it is already at the current scheme and cost or cannot be read
+	 */
+	public static String strengthen(String stored, String salt) {
+		String[] parts = layers(stored);
+		if(parts == null || salt == null || isCurrent(parts)) {
+			return null;
+		}
+		String hash = SCHEME.hash(parts[parts.length - 1], salt, COST);
+		if(hash == null) {
+			return null;
+		}
+		String inner = String.join("$", Arrays.copyOf(parts, parts.length - 1));
+		return "$" + SCHEME.getId() + "$" + COST + inner + "$" + hash;
+	}
+	
+	/**	runs a task on the hashing threads
+	 * 
+	 * @param task
+	 * @return	a future completed with the task's result, or failed with a RejectedExecutionException if too many tasks are waiting
+	 */
+	public static <T> CompletableFuture<T> submit(Supplier<T> task) {
+		try {
+			return CompletableFuture.supplyAsync(task, HASHERS);
+		} catch (RejectedExecutionException e) {
+			CompletableFuture<T> out = new CompletableFuture<T>();
+			out.completeExceptionally(e);
+			return out;
+		}
+	}
+	
+	/**	checks whether a failed future from submit() failed because the hashing threads were busy
+	 * 
+	 * @param error
+	 * @return	true if the task was refused, false if it failed some other way
+	 */
+	public static boolean isBusy(Throwable error) {
+		for(Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if(cause instanceof RejectedExecutionException) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	public static int getThreadCount() {
+		return THREADS;
+	}
+	
+	
+	//------------ helper methods ----------------------------------------------------------
+	
+	/**	splits a stored hash into its layers; a bare hex hash is read as $sha256$0$hex
+	 * 
+	 * @param stored
+	 * @return	a string array of "", then each layer's scheme id and cost (outermost first), then the hex; or null if the stored hash cannot be read
+	 */
+	private static String[] layers(String stored) {
+		if(stored == null || stored.isEmpty()) {
+			return null;
+		}
+		if(stored.charAt(0) != '$') {
+			return new String[] {"", HashScheme.SHA256.getId(), "0", stored};
+		}
+		String[] parts = stored.split("\\$", -1);
+		if(parts.length < 4 || parts.length % 2 != 0 || parts[parts.length - 1].isEmpty()) {
+			return null;
+		}
+		for(int i = 1; i < parts.length - 1; i += 2) {
+			if(HashScheme.forId(parts[i]) == null || !parts[i + 1].matches("\\d{1,2}")) {
+				return null;
+			}
+		}
+		return parts;
+	}
+	
+	private static boolean isCurrent(String[] parts) {
+		return parts[1].equals(SCHEME.getId()) && Integer.parseInt(parts[2]) >= COST;
+	}
+	
+	private static HashScheme schemeFor(String id) {
+		HashScheme scheme = HashScheme.forId(id);
+		if(scheme == null) {
+			System.out.println("unknown password hash scheme " + id + "; using " + HashScheme.PBKDF2.getId());
+			return HashScheme.PBKDF2;
+		}
+		return scheme;
+	}
+	
+}
@@ -0,0 +1,155 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class holds a small, bounded set of Connections to the database file that are lent
+ * out to one caller at a time, so that several threads can use the Database at once without
+ * sharing a Connection (or its transaction state and cached statements).
+ *
+ * Connections are opened lazily up to the maximum size and put in SQLite's WAL journal mode,
+ * which lets readers proceed while the single writer commits; writers that collide wait on
+ * the busy timeout rather than failing.
+ *
+ * @author Regan Lynch
+ *
+ */
+
+class ConnectionPool {
+
+//---  Constant Values   ----------------------------------------------------------------------
+
+	/** int value representing how long in milliseconds a caller will wait for a free Connection*/
+	private final static int BORROW_TIMEOUT = 10000;
+	/** int value representing how long in milliseconds SQLite will wait on a locked database before failing*/
+	private final static int BUSY_TIMEOUT = 5000;
+
+//---  Instance Variables   -------------------------------------------------------------------
+
+	/** String object representing the jdbc url of the database file*/
+	private String url;
+	/** int value representing the most Connections this pool will have open at once*/
+	private int maxSize;
+	/** int value representing how many Connections this pool currently has open*/
+	private int created;
+	/** ArrayBlockingQueue<<r>PooledConnection> object containing the open Connections not currently lent out*/
+	private ArrayBlockingQueue<PooledConnection> idle;
+
+//---  Constructors   -------------------------------------------------------------------------
+
+	/**
+	 * Constructor for objects of the ConnectionPool type that will open at most size Connections
+	 * to the database at the provided url.
+	 *
+	 * @param urlIn - String object representing the jdbc url of the database file
+	 * @param size - int value representing the most Connections to have open at once
+	 */
+
+	ConnectionPool(String urlIn, int size){
+		url = urlIn;
+		maxSize = size;
+		idle = new ArrayBlockingQueue<PooledConnection>(size);
+	}
+
+//---  Operations   ---------------------------------------------------------------------------
+
+	/**
+	 * This method lends out a Connection for the caller's sole use until it is given back with
+	 * release(); an idle Connection is reused if there is one, otherwise a new one is opened if
+	 * the pool is not full, otherwise the caller waits for one to be released.
+	 *
+	 * @return - Returns a PooledConnection object, or null if none could be opened or freed in time
+	 */
+
+	PooledConnection borrow() {
+		PooledConnection out = idle.poll();
+		if(out != null) {
+			return out;
+		}
+		if(reserve()) {
+			try {
+				return open();
+			}
+			catch(SQLException e) {
+				unreserve();
+				e.printStackTrace();
+				System.out.println("Error in Connecting to Database: Getting Connection");
+				return null;
+			}
+		}
+		try {
+			out = idle.poll(BORROW_TIMEOUT, TimeUnit.MILLISECONDS);
+			if(out == null) {
+				System.out.println("Error in Connecting to Database: no Connection was released in time");
+			}
+			return out;
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/**
+	 * This method gives back a Connection lent out by borrow() so that it can be reused;
+	 * Connections that have been closed are discarded instead.
+	 *
+	 * @param in - PooledConnection object being returned; ignored if null
+	 */
+
+	void release(PooledConnection in) {
+		if(in == null) {
+			return;
+		}
+		if(!in.isOpen() || !idle.offer(in)) {
+			in.close();
+			unreserve();
+		}
+	}
+
+	/**
+	 * This method closes every idle Connection in the pool; Connections currently lent out are
+	 * closed as they are released.
+	 */
+
+	void closeAll() {
+		PooledConnection next;
+		while((next = idle.poll()) != null) {
+			next.close();
+			unreserve();
+		}
+	}
+
+//---  Helper Methods   -----------------------------------------------------------------------
+
+	private synchronized boolean reserve() {
+		if(created >= maxSize) {
+			return false;
+		}
+		created++;
+		return true;
+	}
+
+	private synchronized void unreserve() {
+		created--;
+	}
+
+	private PooledConnection open() throws SQLException {
+		Connection connection = DriverManager.getConnection(url);
+		try(Statement state = connection.createStatement()) {
+			state.execute("PRAGMA journal_mode=WAL;");
+			state.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT + ";");
+		}
+		catch(SQLException e) {
+			connection.close();
+			throw e;
+		}
+		return new PooledConnection(connection);
+	}
+
+}
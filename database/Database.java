@@ -1,24 +1,33 @@
 package database;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
 
-import controller.Encryptor;
+import controller.PasswordHasher;
 
 /**
  * This class serves as the facilitator for accessing a database of information.
  * 
  * all values currently stored as strings in the database
  * 
+ * Each operation borrows its own Connection from a small ConnectionPool for its duration,
+ * so the Database may be used from several threads at once.
+ * 
  * @author Regan Lynch
  *
  */
@@ -31,20 +40,48 @@ public class Database {
 	}
 //---  Constant Values   ----------------------------------------------------------------------
 	
-	/** */
-	private static final String DB_DIRECTORY = System.getProperty("user.dir").replaceAll("\\\\", "/") + "/";  	//get the current directory of the user (ie: where the program is installed)
+	/** String object representing the directory holding the database file (-Dpanyk.db.directory, or where the program is run from)*/
+	private static final String DB_DIRECTORY = System.getProperty("panyk.db.directory", System.getProperty("user.dir")).replaceAll("\\\\", "/") + "/";  	//get the current directory of the user (ie: where the program is installed)
 	/** static final database name -> so that other classes can access the database */
 	public static final String DB_NAME = "PLEIN_AIR_DATABASE";
+	/** int value representing the most Connections to the database open at once*/
+	private static final int POOL_SIZE = 4;
+	/** int value representing how long in milliseconds submitted writes may wait before being committed (-Dpanyk.db.writeDelay)*/
+	private static final int WRITE_DELAY = Integer.getInteger("panyk.db.writeDelay", 500);
+	/** int value representing how many submitted writes may wait before being committed regardless of the delay (-Dpanyk.db.writeLimit)*/
+	private static final int WRITE_LIMIT = Integer.getInteger("panyk.db.writeLimit", 64);
+	/** String object representing the sql statement fetching a user's salted password and salt*/
+	private static final String SQL_CREDENTIALS = "SELECT salted_password, salt FROM " + TableType.users + " WHERE username=?;";
+	/** String object representing the sql statement listing every username*/
+	private static final String SQL_USERNAMES = "SELECT username FROM " + TableType.users + ";";
+	/** String object representing the sql statement fetching every user's username, salted password and salt*/
+	private static final String SQL_ALL_CREDENTIALS = "SELECT username, salted_password, salt FROM " + TableType.users + ";";
+	/** String object representing the sql statement replacing a user's salted password and salt, if the salted password has not changed meanwhile*/
+	private static final String SQL_UPDATE_CREDENTIALS = "UPDATE " + TableType.users + " SET salted_password=?, salt=? WHERE username=? AND salted_password=?;";
+	/** int value returned by checkLogin when the username and password match*/
+	public static final int LOGIN_VALID = 0;
+	/** int value returned by checkLogin when there is no user by that username*/
+	public static final int LOGIN_UNKNOWN_USER = 1;
+	/** int value returned by checkLogin when the password does not match*/
+	public static final int LOGIN_INVALID_PASSWORD = 2;
 	
 //---  Static Variables   -------------------------------------------------------------------
 	
 	/** */
 	private static String name;
-	/** */
-	private static Connection connection;
+	/** ConnectionPool object lending out Connections to the database file*/
+	private static ConnectionPool pool;
+	/** WriteBehind object holding submitted writes until they are committed*/
+	private static WriteBehind writeBehind = new WriteBehind(WRITE_DELAY, WRITE_LIMIT);
 	
 	//keeping track of if the database has been d 
-	private static boolean db_is_initialized;
+	private static volatile boolean db_is_initialized;
+	/** Set<<r>String> object containing the tables whose date columns have been checked by migrateDates this run*/
+	private static Set<String> dateChecked = ConcurrentHashMap.newKeySet();
+	/** UsernameFilter object over every username in the users table, or null if it has not been built*/
+	private static volatile UsernameFilter usernames;
+	/** Object locked while a username is added to the UsernameFilter or it is rebuilt, so that none are lost*/
+	private static final Object usernameLock = new Object();
 	
 	public static HashMap<String, String> FIELD_TYPE_CONVERT;
 
@@ -55,50 +92,57 @@ public class Database {
 	 * initializes the db
 	 */
 	
-	public static void initialize() {
+	public static synchronized void initialize() {
 		if(db_is_initialized) {
 			return;
 		}
-		else {
-			db_is_initialized = true;
-		}
 		
 		name = DB_NAME;
-   	 	connection = null;
 
 		FIELD_TYPE_CONVERT = new HashMap<String, String>();
 		FIELD_TYPE_CONVERT.put("lString", "varChar(300)");
 		FIELD_TYPE_CONVERT.put("sString", "varChar(60)");
-		FIELD_TYPE_CONVERT.put("Date", "varChar(10)");
+		FIELD_TYPE_CONVERT.put("Date", TableType.DATE_SQL_TYPE);
 		
-        connect();
-
+		pool = new ConnectionPool("jdbc:sqlite:"+ DB_DIRECTORY + name + ".db", POOL_SIZE);
+		PooledConnection pooled = pool.borrow();
         
-        if (connection != null) {
+        if (pooled != null) {
             System.out.println("connected to database --> "+ DB_DIRECTORY + name + ".db");
-
-        	Statement state = null;
-			try {
-				state = connection.createStatement();
+			try(Statement state = pooled.createStatement()) {
 	        	//create table types as needed
 	        	for(TableType table : TableType.values()) {
 	        		//if a table type isn't already in the database -> create it
-	        		if(getTable(table.toString()) == null) {
+	        		if(!tableExists(pooled, table.toString())) {
 							state.execute(table.sqlCreateTable);
 	        		}
 	        		else {
-	        			System.out.println("Attempted to Add Duplicate Database Entry of Type " + table.toString() + ".");
+	        			//key (and so dedupe) legacy rows first, so the migrated table can be keyed too
+	        			if(table.keyFields != null) {
+	        				ensureUniqueKey(pooled, table.toString(), table.keyFields);
+	        			}
+	        			migrateDates(pooled, table.toString(), table.fields, table.fieldTypes, table.sqlCreateTable);
+	        		}
+	        		if(table.keyFields != null) {
+	        			ensureUniqueKey(pooled, table.toString(), table.keyFields);
+	        		}
+	        		if(table.indexFields != null) {
+	        			includeIndex(pooled, table.toString(), table.indexFields);
 	        		}
 	        	}
+	        	db_is_initialized = true;
+	        	loadUsernames(pooled);
         	}
 			catch(Exception e) {
 				e.printStackTrace();
         		System.out.println(e.getMessage());
         	}
+			finally {
+				pool.release(pooled);
+			}
         }
         else {
         	System.out.println("Connection to database " + DB_DIRECTORY + name + ".db" + " could not be established");
-        	db_is_initialized = false;
         }
 	}
 	
@@ -112,135 +156,342 @@ public class Database {
 	 */
 	
 	public static void includeTableType(String tableType, String[] fields, String[] fieldTypes) {
-		if(!db_is_initialized) {
-			initialize();
-		}
-		connect();
-		if(connection == null) {
-			System.out.println("no connection can be established to the database");
+		includeTableType(tableType, fields, fieldTypes, 0);
+	}
+	
+	/**
+	 * Method that takes dynamic Table Types retrieved from the metaFields database table
+	 * and adds them to the Database as tables for adding Schedulables to, keyed uniquely
+	 * by their first keyLength columns (i.e., username, tripTitle and Name) so that they
+	 * can be written to with upsertEntry.
+	 * 
+	 * Tables that already exist are given the unique key if they do not yet have it.
+	 *  
+	 * @param tableType - String object representing which database table to include (the header name of this table type)
+	 * @param fields - String[] representing the title of each database column
+	 * @param fieldTypes - String[] representing the data type (varChar(60), etc.) for each database column
+	 * @param keyLength - int value representing how many leading columns form the table's key; 0 for no key
+	 */
+	
+	public static void includeTableType(String tableType, String[] fields, String[] fieldTypes, int keyLength) {
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
 			return;
 		}
-		if(getTable(tableType) != null) {
-//			System.out.println(tableType + " already extant during includeTableType");
-			return;
+		try {
+			String[] convert = new String[fieldTypes.length];
+			for(int i = 0; i < convert.length; i++) {
+				convert[i] = FIELD_TYPE_CONVERT.get(fieldTypes[i]);
+			}
+			String sqp = TableType.generateCreateTableSQL(tableType, fields, convert);
+			String[] keyFields = keyLength > 0 ? Arrays.copyOfRange(fields, 0, keyLength) : null;
+			if(!tableExists(pooled, tableType)) {
+				try(Statement state = pooled.createStatement()) {
+		    		state.execute(sqp);
+				}
+				catch(SQLException e) {
+					e.printStackTrace();
+				}
+			}
+			else {
+				//key (and so dedupe) legacy rows first, so the migrated table can be keyed too
+				if(keyFields != null) {
+					ensureUniqueKey(pooled, tableType, keyFields);
+				}
+				migrateDates(pooled, tableType, fields, convert, sqp);
+			}
+			if(keyFields != null) {
+				ensureUniqueKey(pooled, tableType, keyFields);
+			}
+			String[] indexFields = TableType.generateOwnerIndexFields(fields, keyFields);
+			if(indexFields != null) {
+				includeIndex(pooled, tableType, indexFields);
+			}
+			String[] rangeFields = TableType.generateRangeIndexFields(fields);
+			if(rangeFields != null) {
+				includeIndex(pooled, tableType, rangeFields);
+			}
+		}
+		finally {
+			release(pooled);
 		}
-		String[] convert = new String[fieldTypes.length];
-		for(int i = 0; i < convert.length; i++) {
-			convert[i] = FIELD_TYPE_CONVERT.get(fieldTypes[i]);
+	}
+	
+	/**
+	 * Method that adds a secondary index over the provided columns of the defined table so that
+	 * searches by those columns do not scan the whole table. Does nothing if the index already
+	 * exists, so it is safe to call every time the table is included.
+	 * 
+	 * @param tableType - String object representing which database table to index
+	 * @param fields - String[] representing the columns to index, in order
+	 */
+	
+	public static void includeIndex(String tableType, String[] fields) {
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
+			return;
 		}
-		String sqp = TableType.generateCreateTableSQL(tableType, fields, convert);
-		Statement state = null;
 		try {
-			state = connection.createStatement();
-    		state.execute(sqp);
+			includeIndex(pooled, tableType, fields);
 		}
-		catch(Exception e) {
-			e.printStackTrace();
+		finally {
+			release(pooled);
 		}
 	}
 	
 //---  Operations   ---------------------------------------------------------------------------
 	
 	/**
-	 * Gets connection to database 
+	 * Borrows a connection to the database from the pool, initializing the database first
+	 * if that has not been done; must be given back with release() when finished.
+	 * 
+	 * @return - Returns a PooledConnection object, or null if no connection could be established
+	 */
+	
+	private static PooledConnection borrow() {
+		if(!db_is_initialized) {
+			initialize();
+		}
+		PooledConnection pooled = db_is_initialized ? pool.borrow() : null;
+		if(pooled == null) {
+			System.out.println("no connection can be established to the database");
+		}
+		return pooled;
+	}
+	
+	/**
+	 * Gives a connection borrowed with borrow() back to the pool.
 	 * 
+	 * @param pooled - PooledConnection object being given back; ignored if null
+	 */
+	
+	private static void release(PooledConnection pooled) {
+		pool.release(pooled);
+	}
+	
+	/**
+	 * Commits any writes still waiting in the write-behind queue, then closes every idle
+	 * connection to the database; used when the program is shutting down.
 	 * 
+	 * If statement tracking is enabled (-Dpanyk.db.debug=true), any statements left open are
+	 * reported afterwards.
 	 */
 	
-	private static void connect() {
-		try {
-			if(connection == null || connection.isClosed()) {
-		        try {
-		            // db parameters
-		            String url = "jdbc:sqlite:"+ DB_DIRECTORY + name + ".db";
-		            // create a connection to the database
-		            connection = DriverManager.getConnection(url);
-		        } catch (SQLException e) {
-		        	e.printStackTrace();
-		            System.out.println("Error in Connecting to Database: Getting Connection");
-		        }
-			}
-		}
-		catch(Exception e){
-			e.printStackTrace();
-			System.out.println("Error in Connecting to Database: Querying if Connection was Closed");
+	public static void close() {
+		writeBehind.shutdown();
+		if(pool != null) {
+			pool.closeAll();
 		}
+		StatementTracker.report();
+	}
+	
+	/**
+	 * Getter method to query how many statements the Database has opened and not closed;
+	 * only counted when statement tracking is enabled (-Dpanyk.db.debug=true).
+	 * 
+	 * @return - Returns an int value representing the number of open statements, or 0 if not tracking
+	 */
+	
+	public static int getOpenStatementCount() {
+		return StatementTracker.openCount();
 	}
 	
 //---  Getter Methods   -----------------------------------------------------------------------
 	
 	/**
-	 * Get result set of the given table name.
+	 * Get every row of the given table name.
+	 * 
+	 * The rows are copied out while the connection is still borrowed, so no cursor outlives
+	 * the connection's return to the pool; use tableExists() to simply check for a table.
 	 * 
 	 * @param table_name
-	 * @return
+	 * @return - Returns a List<<r>String[]> object containing every row of the table, or null if it could not be read
 	 */
 	
-	public static ResultSet getTable(String table_name) {
-		if(!db_is_initialized) {
-			initialize();
+	public static List<String[]> getTableRows(String table_name) {
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
+			return null;
 		}
-		connect();
-		if(connection == null) {
-			System.out.println("no connection can be established to the database");
+		try(Statement state = pooled.createStatement();
+				ResultSet result = state.executeQuery("SELECT * FROM " + table_name)) {
+			return ResultSetToList(result);
+		}
+		catch(SQLException e) {
 			return null;
 		}
-		Statement state=null;
-		ResultSet result=null;
-		try {
-			state=connection.createStatement();
-		}catch(SQLException sqlE1) {
+		finally {
+			release(pooled);
+		}
+	}
+	
+	/**
+	 * Get a ResultSet of the given table name.
+	 * 
+	 * The ResultSet is a disconnected copy of the table (a CachedRowSet), filled while the
+	 * connection is still borrowed, so it stays readable after the connection returns to the
+	 * pool; closing it is not required but does no harm.
+	 * 
+	 * @deprecated Use getTableRows(), which returns the rows without a JDBC wrapper around them.
+	 * @param table_name
+	 * @return - Returns a ResultSet object holding every row of the table, or null if it could not be read
+	 */
+	
+	@Deprecated
+	public static ResultSet getTable(String table_name) {
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
 			return null;
 		}
-		try {
-			result=state.executeQuery("SELECT * FROM " + table_name);
-		}catch(SQLException sqlE2) {
+		try(Statement state = pooled.createStatement();
+				ResultSet result = state.executeQuery("SELECT * FROM " + table_name)) {
+			CachedRowSet copy = RowSetProvider.newFactory().createCachedRowSet();
+			copy.populate(result);
+			return copy;
+		}
+		catch(SQLException e) {
 			return null;
 		}
-		return result;
+		finally {
+			release(pooled);
+		}
 	}
 	
 	/**
+	 * Getter method to query whether a table of the given name is present in the database,
+	 * checked against sqlite_master rather than by reading the table.
 	 * 
-	 * @param username
-	 * @return
+	 * @param table_name - String object representing the table to look for
+	 * @return - Returns a boolean value; true if the table exists, false otherwise
+	 */
+	
+	public static boolean tableExists(String table_name) {
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
+			return false;
+		}
+		try {
+			return tableExists(pooled, table_name);
+		}
+		finally {
+			release(pooled);
+		}
+	}
+	
+	/**
+	 * This method queries whether a user by the provided username exists. Usernames the
+	 * UsernameFilter has never seen are answered without querying the database.
+	 * 
+	 * @param username - String object representing the username to look for
+	 * @return - Returns a boolean value; true if the user exists, false otherwise
 	 */
 	
 	public static boolean checkUserExists(String username) {
+		return getCredentials(username) != null;
+	}
+	
+	/**
+	 * This method queries whether the provided password is the one stored for the provided username.
+	 * 
+	 * @param username - String object representing the username of the user
+	 * @param password - String object representing the password to check
+	 * @return - Returns a boolean value; true if the user exists and the password matches, false otherwise
+	 */
+	
+	public static boolean checkValidPassword(String username, String password) {
+		return checkLogin(username, password) == LOGIN_VALID;
+	}
+	
+	/**
+	 * This method checks a login attempt with a single lookup of the user's salted password and
+	 * salt (none at all if the UsernameFilter rules the username out), reporting whether the user
+	 * is unknown, the password is wrong, or the login is valid.
+	 * 
+	 * The password is hashed on the calling thread, by whichever scheme made the stored hash. If it
+	 * matches but that hash was not made with the current scheme and cost, it is hashed again that
+	 * way on the PasswordHasher's threads and stored, without holding up the login.
+	 * 
+	 * @param username - String object representing the username being logged in to
+	 * @param password - String object representing the password provided
+	 * @return - Returns an int value; one of LOGIN_VALID, LOGIN_UNKNOWN_USER or LOGIN_INVALID_PASSWORD
+	 */
+	
+	public static int checkLogin(String username, String password) {
+		String[] credentials = getCredentials(username);
+		if(credentials == null) {
+			return LOGIN_UNKNOWN_USER;
+		}
+		if(!PasswordHasher.verify(password, credentials[0], credentials[1])) {
+			return LOGIN_INVALID_PASSWORD;
+		}
+		if(PasswordHasher.needsRehash(credentials[0])) {
+			PasswordHasher.submit(() -> {
+				String[] hash = PasswordHasher.create(password);
+				return updateCredentials(Arrays.asList(new String[][] {{hash[0], hash[1], username, credentials[0]}}));
+			});
+		}
+		return LOGIN_VALID;
+	}
+	
+	/**
+	 * This method checks a login attempt as checkLogin does, but on the PasswordHasher's threads,
+	 * so that a costly hash never runs on the caller's thread.
+	 * 
+	 * @param username - String object representing the username being logged in to
+	 * @param password - String object representing the password provided
+	 * @return - Returns a CompletableFuture<<r>Integer> completed with the result of checkLogin, or failed if the PasswordHasher is too busy to take it
+	 */
+	
+	public static CompletableFuture<Integer> checkLoginAsync(String username, String password) {
+		return PasswordHasher.submit(() -> checkLogin(username, password));
+	}
+	
+	/**
+	 * This method strengthens, in parallel, the stored hash of every user that was not made with
+	 * the current scheme and cost (see PasswordMigration), for an administrator upgrading every
+	 * user at once after raising the cost; the rest are upgraded as they log in regardless.
+	 * 
+	 * A user whose salted password changes while this runs keeps the new one.
+	 * 
+	 * @return - Returns an int value representing how many users were upgraded, or -1 if they could not be read or written
+	 */
+	
+	public static int migratePasswords() {
 		if(!db_is_initialized) {
 			initialize();
 		}
-		connect();
-		if(connection == null) {
-			System.out.println("no connection can be established to the database");
-			return false;
+		flushWrites();
+		List<String[]> rows = new ArrayList<String[]>();
+		if(!query(TableType.users.toString(), SQL_ALL_CREDENTIALS, SQL_ALL_CREDENTIALS, new ArrayList<String>(), row -> rows.add(row))) {
+			return -1;
 		}
-		List<String[]> users = search(TableType.users, username, null, null, null, null, null);
-		if(users == null)
-			return false;
-		return(users.size() != 0);
+		int upgraded = updateCredentials(PasswordMigration.strengthen(rows));
+		System.out.println("strengthened " + upgraded + " of " + rows.size() + " password hashes");
+		return upgraded;
 	}
 	
 	/**
+	 * This method fetches the salted password and salt stored for the provided username in one
+	 * query; if the UsernameFilter shows the username was never added, the database is not queried.
 	 * 
-	 * @param username
-	 * @param password
-	 * @return
+	 * @param username - String object representing the username of the user
+	 * @return - Returns a String[] containing the salted password then the salt, or null if there is no such user
 	 */
 	
-	public static boolean checkValidPassword(String username, String password) {
+	public static String[] getCredentials(String username) {
+		if(username == null) {
+			return null;
+		}
 		if(!db_is_initialized) {
 			initialize();
 		}
-		connect();
-		List<String[]> users = search(TableType.users, username, null, null, null, null, null);
-		if(users.size() != 0) {
-			String salt = users.get(0)[5];
-			String real_salted_pass = users.get(0)[4];
-			String calc_salted_pass = Encryptor.createSaltedHash(password, salt);
-			return real_salted_pass.equals(calc_salted_pass);
+		UsernameFilter filter = usernames;
+		if(filter != null && !filter.mightContain(username)) {
+			return null;
 		}
-		return false;
+		String[][] out = new String[1][];
+		query(TableType.users.toString(), SQL_CREDENTIALS, SQL_CREDENTIALS, Arrays.asList(username), row -> out[0] = row);
+		return out[0];
 	}
 	
 //---  Adder Method   ------------------------------------------------------------------------
@@ -254,26 +505,23 @@ public class Database {
 	 */
 	
 	public static boolean addEntry(TableType table, String ... values) {
-		if(!db_is_initialized) {
-			initialize();
-		}
-		connect();
-		if(connection == null) {
-			System.out.println("no connection can be established to the database");
-			return false;
-		}
 		if(table.fields.length != values.length) {
 			System.out.println("error inserting into table "+ table.toString() + ": number of fields provided does not equal number of fields needed");
 			return false;
 		}
-		//check if entry exists in database
-		try {
-			PreparedStatement prep = connection.prepareStatement(table.sqlInsertTable);
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
+			return false;
+		}
+		try(PreparedStatement prep = pooled.prepare(table.sqlInsertTable)) {
 			for(int i = 0; i < values.length; i++) {
 				prep.setString(i + 1, values[i]);
 			}
 			prep.executeUpdate();
-		} catch(Exception e) {
+			if(table == TableType.users) {
+				addUsername(pooled, values[0]);
+			}
+		} catch(SQLException e) {
 			e.printStackTrace();
 			System.out.println("-----");
 			System.out.println("ERROR inserting into table -> " + table.toString() + " ...");
@@ -281,6 +529,9 @@ public class Database {
 			System.out.println("-----");
 			return false;
 		}
+		finally {
+			release(pooled);
+		}
 		return true;
 	}
 	
@@ -289,6 +540,8 @@ public class Database {
 	 * types as the header for each column in that tableTitle table from the database and
 	 * the String[] values representing the data to be stored therein.
 	 * 
+	 * If the table is keyed and an entry with the same key already exists, nothing is added.
+	 * 
 	 * @param tableTitle - String object representing the table in the database to interact with
 	 * @param types - String[] object representing the headers for which values should be added in the database
 	 * @param values - String[] object representing the values to be added to corresponding column headers in the database
@@ -296,39 +549,30 @@ public class Database {
 	 */
 	
 	public static boolean addEntry(String tableTitle, String[] types, String[] values) {
-		if(!db_is_initialized) {
-			initialize();
-		}
-		connect();
-		if(connection == null) {
-			System.out.println("no connection can be established to the database");
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
 			return false;
 		}
-		try {
-			if(values.length < types.length) {
-				String[] copy = new String[types.length];
-				for(int i = 0; i < values.length; i++){
-					copy[i] = values[i];
-				}
-				for(int i = values.length; i < types.length; i++) {
-					copy[i] = "null";
-				}
-				values = copy;
+		if(values.length < types.length) {
+			String[] copy = new String[types.length];
+			for(int i = 0; i < values.length; i++){
+				copy[i] = values[i];
 			}
-
-			List<String[]> check = search(tableTitle, types, values);
-			if(check != null && check.size() != 0) {
-				System.out.println("Attempted to Add Duplicate Database Entry of Type " + tableTitle + ".");
-				return false;
+			for(int i = values.length; i < types.length; i++) {
+				copy[i] = "null";
 			}
-			//must reconnect here for some reason
-			connect();
-			PreparedStatement prep = connection.prepareStatement(TableType.generateCreateTableInsertionSQL(tableTitle, types));
+			values = copy;
+		}
+		//entries clashing with the table's unique key are ignored rather than duplicated
+		try(PreparedStatement prep = pooled.prepare(TableType.generateCreateTableInsertionSQL(tableTitle, types, TableType.CONFLICT_IGNORE))) {
 			for(int i = 0; i < values.length; i++) {
-				prep.setString(i + 1, values[i].replaceAll(" ", " "));
+				prep.setString(i + 1, values[i]);
 			}
-			prep.executeUpdate();
-		} catch(Exception e) {
+			if(prep.executeUpdate() == 0) {
+				System.out.println("Attempted to Add Duplicate Database Entry of Type " + tableTitle + ".");
+				return false;
+			}
+		} catch(SQLException e) {
 			e.printStackTrace();
 			System.out.println("-----");
 			System.out.println("ERROR inserting into table -> " + tableTitle + " ...");
@@ -336,217 +580,331 @@ public class Database {
 			System.out.println("-----");
 			return false;
 		}
+		finally {
+			release(pooled);
+		}
 		return true;
 	}
 	
-// --- deleter method --------------------------------------------------------------------------------
-		
-	/**	
-	 * This method deletes entries from the defined table
-	 * 
-	 * BE CAREFULL -> this will delete everything that matches the search keys
+	/**
+	 * This method adds an entry into the defined table, or updates the extant entry in place if
+	 * one already has the same key, as a single statement.
 	 * 
-	 * @param table	- TableType object you wish to delete from
-	 * @param searchKeys - String ... (var args) values representing the search parameters for deletion
-	 * @return - Returns a boolean value representing the result of deletion; true if successful, false otherwise
+	 * @param table - TableType object you wish to write the String ... values into; must have a key field
+	 * @param values - String ... (var args) values of fields you wish to write into table
+	 * @return - Returns a boolean value representing whether or not the write was successful
 	 */
 	
-	public static boolean deleteEntry(TableType table, String... searchKeys) {
-		if(!db_is_initialized) {
-			initialize();
-		}
-		connect();
-		if(connection == null) {
-			System.out.println("no connection can be established to the database");
+	public static boolean upsertEntry(TableType table, String ... values) {
+		if(table.sqlUpsertTable == null) {
+			System.out.println("error upserting into table "+ table.toString() + ": table has no key field");
 			return false;
 		}
-		if(searchKeys.length != table.fields.length) {
-			System.out.println("error deleting from table "+ table.toString() + ": number of search fields provided does not equal number of fields needed");
+		if(table.fields.length != values.length) {
+			System.out.println("error upserting into table "+ table.toString() + ": number of fields provided does not equal number of fields needed");
 			return false;
 		}
-		try {
-			String sqlDelete = "DELETE FROM " + table.toString() + " WHERE";
-			int nullCount = 0;
-			boolean priorSearch = false;
-			for(int i = 0; i < searchKeys.length; i++) {
-				if(searchKeys[i] != null) {
-					if(priorSearch) {
-						sqlDelete += " AND";
-					}
-					sqlDelete += " " + table.fields[i] + "='" + searchKeys[i] + "'";
-					priorSearch = true;
-				}else {
-					nullCount++;
-				}
-			}
-			sqlDelete += ";";
-			if(nullCount != searchKeys.length) {
-				PreparedStatement prep = connection.prepareStatement(sqlDelete);
-				prep.executeUpdate();
-			}else {
-				System.out.println("error deleting table: " + table.toString() + " --> no search keys defined");
-				return false;
-			}
-		}catch(Exception e) {
-			System.out.println("error deleting from table: " + table.toString());
+		return upsert(table.toString(), table.sqlUpsertTable, values);
+	}
+	
+	/**
+	 * This method adds an entry into the table described by tableTitle, or updates the extant
+	 * entry in place if one already matches it in the first keyLength columns, as a single
+	 * statement. The table must have been included with a key of that length.
+	 * 
+	 * @param tableTitle - String object representing the table in the database to interact with
+	 * @param types - String[] object representing the column headers for each value, key columns first
+	 * @param values - String[] object representing the values to be written to corresponding column headers
+	 * @param keyLength - int value representing how many leading columns form the table's key
+	 * @return - Returns a boolean value representing whether or not the write was successful
+	 */
+	
+	public static boolean upsertEntry(String tableTitle, String[] types, String[] values, int keyLength) {
+		if(types.length != values.length) {
+			System.out.println("error upserting into table "+ tableTitle + ": number of fields provided does not equal number of fields needed");
 			return false;
 		}
-		return true;
+		return upsert(tableTitle, TableType.generateUpsertSQL(tableTitle, types, keyLength), values);
 	}
-
-	public static boolean deleteEntry(String tableType, String[] fields, String[] values) {
-		if(!db_is_initialized) {
-			initialize();
-		}
-		connect();
-		if(connection == null) {
-			System.out.println("no connection can be established to the database");
-			return false;
+	
+	/**
+	 * This method writes every row gathered in the provided WriteBatch to the database inside a
+	 * single transaction; deletions are run first, then upserts, each group of identical
+	 * statements submitted as one JDBC batch.
+	 * 
+	 * If any statement fails the whole transaction is rolled back, so either every write in the
+	 * WriteBatch is stored or none of them are.
+	 * 
+	 * @param batch - WriteBatch object containing the writes to perform
+	 * @return - Returns a boolean value representing whether or not the transaction was committed
+	 */
+	
+	public static boolean commitBatch(WriteBatch batch) {
+		if(batch.isEmpty()) {
+			return true;
 		}
-		if(fields.length != values.length) {
-			System.out.println("error deleting from table "+ tableType + ": number of search fields provided does not equal number of fields needed");
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
 			return false;
 		}
+		Connection connection = pooled.getConnection();
 		try {
-			String sqlDelete = "DELETE FROM " + tableType + " WHERE";
-			int nullCount = 0;
-			boolean priorSearch = false;
-			for(int i = 0; i < fields.length; i++) {
-				if(fields[i] != null) {
-					if(priorSearch) {
-						sqlDelete += " AND";
-					}
-					sqlDelete += " " + fields[i] + "='" + values[i] + "'";
-					priorSearch = true;
-				}else {
-					nullCount++;
-				}
+			connection.setAutoCommit(false);
+			try {
+				executeBatch(pooled, batch.getDeletes());
+				executeBatch(pooled, batch.getUpserts());
+				connection.commit();
 			}
-			sqlDelete += ";";
-			if(nullCount != values.length) {
-				PreparedStatement prep = connection.prepareStatement(sqlDelete);
-				prep.executeUpdate();
-			}else {
-				System.out.println("error deleting table: " + tableType + " --> no search keys defined");
-				return false;
+			catch(SQLException e) {
+				connection.rollback();
+				throw e;
 			}
-		}catch(Exception e) {
-			System.out.println("error deleting from table: " + tableType);
+			finally {
+				connection.setAutoCommit(true);
+			}
+		}
+		catch(SQLException e) {
+			e.printStackTrace();
+			System.out.println("error committing batch of " + batch.size() + " writes, rolled back");
 			return false;
 		}
+		finally {
+			release(pooled);
+		}
 		return true;
 	}
 	
-//--- entryEdit method -----------------------------------------------------------------------
-	
 	/**
-	 * 		edits an entry in the db by finding the entry first based on search keys and table type, 
+	 * This method hands the writes gathered in the provided WriteBatch to the write-behind queue
+	 * and returns without waiting for them to be committed. Waiting writes to the same row are
+	 * coalesced, and the remainder committed together (as by commitBatch) once the write delay has
+	 * passed, once enough are waiting, or when flushWrites() is called.
 	 * 
-	 * @param table				the table you wish to edit
-	 * @param editIndex			the index of the element you wish to edit
-	 * @param newValue			the string which you want to replace the previous value with
-	 * @param searchKeys		the search keys to find the entry you want to edit
-	 * @return
+	 * Searches do not see writes that are still waiting; call flushWrites() first where that matters.
+	 * Writes that fail to commit later are reported to any WriteFailureListener instead.
+	 * 
+	 * @param batch - WriteBatch object containing the writes to perform
+	 * @return - Returns a boolean value; false only if the write delay is 0 or less and the immediate commit failed
 	 */
-
-	public static boolean editEntry(TableType table, int editIndex, String newValue, String... searchKeys) {
-		List<String[]> old_entry = search(table, searchKeys);
-		if(old_entry.size() == 0) {
-			System.out.println("error editing entry in table " + table.toString() + ", no entries found with given search keys");
-			return false;
-		}else if(old_entry.size() > 1) {
-			System.out.println("error editing entry in table " + table.toString() + ", more than one entry found with the given search keys");
-			return false;
-		}else if(editIndex >= table.fields.length || editIndex < 0) {
-			System.out.println("error editing entry in table " + table.toString() + ", the index at which you are trying to edit is invalid");
-			return false;
-		}else if(table == TableType.users) {		//you are not allowed to edit a user
-			System.out.println("you are not allowed to edit the user table, only delete from it or add to it");
-			return false;
-		}else if(editIndex == 0) {
-			System.out.println("you are not allowed to edit the the username of any entry");
-			return false;
-		}else {
-			//delete the old entry
-			boolean del_flag = deleteEntry(table, searchKeys);
-			if(!del_flag) {
-				System.out.println("error editing entry in table " + table.toString() + ", error deleting old entry from table");
-				return false;
-			}
-			String[] old_vals = old_entry.get(0);
-			String[] new_vals = old_vals;
-			new_vals[editIndex] = newValue;
-			//return the status of the addEntry
-			return addEntry(table, new_vals);
-		}
-	}
 	
-//--- Search Methods  -------------------------------------------------------------------------
+	public static boolean submitBatch(WriteBatch batch) {
+		return writeBehind.submit(batch);
+	}
 	
-	/**	
-	 * This method searches the defined table based on search parameters
+	/**
+	 * This method registers a listener to be told whenever a write submitted with submitBatch
+	 * fails to commit, since submitBatch itself returns before the write is attempted.
 	 * 
-	 * @param table	- TableType object you wish to query
-	 * @param searchKeys - String ... (var args) values representing the fields you wish to search by 
-	 * @return - Returns a List<<r>String[]> object containing elements that matched your search
+	 * @param listener - WriteFailureListener object to tell of failed writes
+	 */
+	
+	public static void addWriteFailureListener(WriteFailureListener listener) {
+		writeBehind.addListener(listener);
+	}
+	
+	/**
+	 * This method commits every write waiting in the write-behind queue now; used on logout and
+	 * before reading back data that may have been written recently.
+	 * 
+	 * @return - Returns a boolean value representing whether or not every waiting write was committed
+	 */
+	
+	public static boolean flushWrites() {
+		return writeBehind.flush();
+	}
+	
+	/**
+	 * Setter method to change how long in milliseconds submitted writes may wait before being
+	 * committed (the window in which they could be lost if the program is killed); a value of 0 or
+	 * less commits each submitted batch immediately. Defaults to -Dpanyk.db.writeDelay, or 500.
+	 * 
+	 * @param millis - int value representing the new write delay in milliseconds
+	 */
+	
+	public static void setWriteDelay(int millis) {
+		writeBehind.setDelay(millis);
+	}
+	
+	/**
+	 * Getter method to query how many writes are waiting in the write-behind queue.
+	 * 
+	 * @return - Returns an int value representing the number of writes not yet committed
 	 */
+	
+	public static int getPendingWriteCount() {
+		return writeBehind.getPendingCount();
+	}
+	
+// --- deleter method --------------------------------------------------------------------------------
+		
+	/**	
+	 * This method deletes entries from the defined table
+	 * 
+	 * BE CAREFULL -> this will delete everything that matches the search keys
+	 * 
+	 * @param table	- TableType object you wish to delete from
+	 * @param searchKeys - String ... (var args) values representing the search parameters for deletion
+	 * @return - Returns a boolean value representing the result of deletion; true if successful, false otherwise
+	 */
+	
+	public static boolean deleteEntry(TableType table, String... searchKeys) {
+		if(searchKeys.length != table.fields.length) {
+			System.out.println("error deleting from table "+ table.toString() + ": number of search fields provided does not equal number of fields needed");
+			return false;
+		}
+		return deleteEntry(table.toString(), table.fields, searchKeys);
+	}
 
-	public static List<String[]> search(TableType table, String... searchKeys) {
-		if(!db_is_initialized) {
-			initialize();
+	/**	
+	 * This method deletes entries from the table described by tableType, matching each non-null
+	 * field to its corresponding value.
+	 * 
+	 * BE CAREFULL -> this will delete everything that matches the search keys
+	 * 
+	 * @param tableType - String object representing the table in the database to delete from
+	 * @param fields - String[] containing the column headers to match on; null entries are skipped
+	 * @param values - String[] containing the values each corresponding column must possess to be deleted
+	 * @return - Returns a boolean value representing the result of deletion; true if successful, false otherwise
+	 */
+	
+	public static boolean deleteEntry(String tableType, String[] fields, String[] values) {
+		if(fields.length != values.length) {
+			System.out.println("error deleting from table "+ tableType + ": number of search fields provided does not equal number of fields needed");
+			return false;
 		}
-		connect();
-		ResultSet result = null;
-		if(connection == null) {
-			System.out.println("no connection can be established to the database");
-			return null;
+		ArrayList<String> columns = new ArrayList<String>();
+		ArrayList<String> keys = new ArrayList<String>();
+		for(int i = 0; i < fields.length; i++) {
+			if(fields[i] != null && values[i] != null) {
+				columns.add(fields[i]);
+				keys.add(values[i]);
+			}
 		}
-		if(searchKeys.length != table.fields.length) {
-			System.out.println("error searching table "+ table.toString() + ": number of search fields provided " + searchKeys.length + " does not equal number of fields needed " + table.fields.length);
-			return null;
+		if(columns.size() == 0) {
+			System.out.println("error deleting table: " + tableType + " --> no search keys defined");
+			return false;
+		}
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
+			return false;
+		}
+		try(PreparedStatement prep = pooled.prepare(TableType.generateDeleteSQL(tableType, columns.toArray(new String[columns.size()])))) {
+			for(int i = 0; i < keys.size(); i++) {
+				prep.setString(i + 1, keys.get(i));
+			}
+			prep.executeUpdate();
+		}catch(SQLException e) {
+			System.out.println("error deleting from table: " + tableType);
+			return false;
+		}
+		finally {
+			release(pooled);
+		}
+		return true;
+	}
+	
+//--- entryEdit method -----------------------------------------------------------------------
+	
+	/**
+	 * 		edits an entry in the db by finding the entry first based on search keys and table type, 
+	 * 
+	 * @param table				the table you wish to edit
+	 * @param editIndex			the index of the element you wish to edit
+	 * @param newValue			the string which you want to replace the previous value with
+	 * @param searchKeys		the search keys to find the entry you want to edit
+	 * @return
+	 */
+
+	public static boolean editEntry(TableType table, int editIndex, String newValue, String... searchKeys) {
+		if(editIndex >= table.fields.length || editIndex < 0) {
+			System.out.println("error editing entry in table " + table.toString() + ", the index at which you are trying to edit is invalid");
+			return false;
+		}else if(table == TableType.users) {		//you are not allowed to edit a user
+			System.out.println("you are not allowed to edit the user table, only delete from it or add to it");
+			return false;
+		}else if(editIndex == 0) {
+			System.out.println("you are not allowed to edit the the username of any entry");
+			return false;
+		}else if(searchKeys.length != table.fields.length) {
+			System.out.println("error editing entry in table " + table.toString() + ": number of search fields provided does not equal number of fields needed");
+			return false;
+		}
+		String sqlUpdate = "UPDATE " + table.toString() + " SET " + table.fields[editIndex] + "=? WHERE";
+		ArrayList<String> values = new ArrayList<String>();
+		values.add(newValue);
+		for(int i = 0; i < searchKeys.length; i++) {
+			if(searchKeys[i] != null) {
+				sqlUpdate += (values.size() > 1 ? " AND " : " ") + table.fields[i] + "=?";
+				values.add(searchKeys[i]);
+			}
+		}
+		if(values.size() == 1) {
+			System.out.println("error editing entry in table " + table.toString() + " --> no search keys defined");
+			return false;
 		}
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
+			return false;
+		}
+		Connection connection = pooled.getConnection();
+		//update in place, only keeping the change if exactly one entry matched
 		try {
-			String sqlSearch = "SELECT * FROM " + table.toString() + " WHERE";
-			int nullCount = 0;
-			boolean priorSearch = false;
-			for(int i = 0; i < searchKeys.length; i++) {
-				if(searchKeys[i] != null) {
-					if(priorSearch) {
-						sqlSearch += " AND";
-					}
-					sqlSearch += " " + table.fields[i] + "='" + searchKeys[i] + "'";
-					priorSearch = true;
+			connection.setAutoCommit(false);
+			try(PreparedStatement prep = pooled.prepare(sqlUpdate + ";")) {
+				for(int i = 0; i < values.size(); i++) {
+					prep.setString(i + 1, values.get(i));
 				}
-				else {
-					nullCount++;
+				int edited = prep.executeUpdate();
+				if(edited == 0) {
+					System.out.println("error editing entry in table " + table.toString() + ", no entries found with given search keys");
+					connection.rollback();
+					return false;
+				}else if(edited > 1) {
+					System.out.println("error editing entry in table " + table.toString() + ", more than one entry found with the given search keys");
+					connection.rollback();
+					return false;
 				}
+				connection.commit();
+				return true;
 			}
-			sqlSearch += ";";
-			if(nullCount != searchKeys.length) {
-				Statement state = null;
-				try {
-					state = connection.createStatement();
-					result = state.executeQuery(sqlSearch);
-					return ResultSetToList(result);
-				}catch(SQLException sqlE2) {
-					connection.close();
-					return null;
-				}
+			catch(SQLException e) {
+				connection.rollback();
+				throw e;
 			}
-			else {
-				System.out.println("error searching table: " + table.toString() + " --> no search keys defined");
-				return null;
+			finally {
+				connection.setAutoCommit(true);
 			}
-		}catch(Exception e) {
-			System.out.println("error searching in table: " + table.toString());
-			return null;
 		}
+		catch(SQLException e) {
+			e.printStackTrace();
+			System.out.println("error editing entry in table " + table.toString());
+			return false;
+		}
+		finally {
+			release(pooled);
+		}
+	}
+	
+//--- Search Methods  -------------------------------------------------------------------------
+	
+	/**	
+	 * This method searches the defined table based on search parameters
+	 * 
+	 * @param table	- TableType object you wish to query
+	 * @param searchKeys - String ... (var args) values representing the fields you wish to search by 
+	 * @return - Returns a List<<r>String[]> object containing elements that matched your search
+	 */
+
+	public static List<String[]> search(TableType table, String... searchKeys) {
+		List<String[]> out = new ArrayList<String[]>();
+		return searchEach(table, row -> out.add(row), searchKeys) ? out : null;
 	}
 	
 	/**
 	 * This method queries the database in the specified tableType section given the defined
 	 * fields and values for each to narrow down the results by. If fields is longer than
-	 * search, then the extraneous field terms are left out.
+	 * search, then the extraneous field terms are left out, as are fields whose search term
+	 * is null.
 	 * 
 	 * @param tableType - String object representing the table in the database to interact with
 	 * @param fields - String[] containing the column headers for each piece of data stored in this table in the database
@@ -555,40 +913,155 @@ public class Database {
 	 */
 	
 	public static List<String[]> search(String tableType, String[] fields, String[] search){
-		if(!db_is_initialized) {
-			initialize();
+		List<String[]> out = new ArrayList<String[]>();
+		return searchEach(tableType, fields, search, row -> out.add(row)) ? out : null;
+	}
+	
+	/**
+	 * This method searches the defined table based on search parameters, handing each matching
+	 * row to the provided RowVisitor as it is read instead of collecting them into a List.
+	 * 
+	 * @param table - TableType object you wish to query
+	 * @param visitor - RowVisitor object to receive each matching row
+	 * @param searchKeys - String ... (var args) values representing the fields you wish to search by
+	 * @return - Returns a boolean value; true if the search ran to completion, false otherwise
+	 */
+	
+	public static boolean searchEach(TableType table, RowVisitor visitor, String... searchKeys) {
+		if(searchKeys.length != table.fields.length) {
+			System.out.println("error searching table "+ table.toString() + ": number of search fields provided " + searchKeys.length + " does not equal number of fields needed " + table.fields.length);
+			return false;
 		}
-		connect();
-		try {
-			String sqlSearch = "SELECT * FROM " + tableType + (fields.length == 0 ? "" : " WHERE");
-			boolean priorSearch = false;
-			ResultSet result = null;
-			for(int i = 0; i < fields.length; i++) {
-				if(fields[i] != null) {
-					if(i < search.length) 
-						sqlSearch += (priorSearch ? " AND" : "") + " " + fields[i].replaceAll(" ", "_") + "='" + search[i].replaceAll(" ", "_") + "'";
-//						sqlSearch += (priorSearch ? " AND" : "") + " " + fields[i] + "='" + search[i] + "'";
-					
-					priorSearch = true;
-				}
+		ArrayList<String> columns = new ArrayList<String>();
+		ArrayList<String> values = new ArrayList<String>();
+		for(int i = 0; i < searchKeys.length; i++) {
+			if(searchKeys[i] != null) {
+				columns.add(table.fields[i]);
+				values.add(searchKeys[i]);
 			}
-			sqlSearch += ";";
-			Statement state = null;
-			try {
-				state = connection.createStatement();
-				result = state.executeQuery(sqlSearch);
-				return ResultSetToList(result);
+		}
+		if(columns.size() == 0) {
+			System.out.println("error searching table: " + table.toString() + " --> no search keys defined");
+			return false;
+		}
+		return query(table.toString(), columns, values, visitor);
+	}
+	
+	/**
+	 * This method queries the database in the specified tableType section as search(String, String[], String[])
+	 * does, handing each matching row to the provided RowVisitor as it is read instead of
+	 * collecting them into a List.
+	 * 
+	 * @param tableType - String object representing the table in the database to interact with
+	 * @param fields - String[] containing the column headers for each piece of data stored in this table in the database
+	 * @param search - String[] containing the search terms for each column header to possess when searching
+	 * @param visitor - RowVisitor object to receive each matching row
+	 * @return - Returns a boolean value; true if the search ran to completion, false otherwise
+	 */
+	
+	public static boolean searchEach(String tableType, String[] fields, String[] search, RowVisitor visitor) {
+		ArrayList<String> columns = new ArrayList<String>();
+		ArrayList<String> values = new ArrayList<String>();
+		for(int i = 0; i < fields.length && i < search.length; i++) {
+			if(fields[i] != null && search[i] != null) {
+				columns.add(fields[i].replaceAll(" ", "_"));
+				values.add(search[i]);
 			}
-			catch(SQLException sqlE2) {
-				sqlE2.printStackTrace();
-				System.out.println("Error in Search of Table " + tableType);
-				connection.close();
-				return null;
+		}
+		return query(tableType, columns, values, visitor);
+	}
+	
+	/**
+	 * This method runs a search statement that the caller has already generated (with
+	 * TableType.generateSearchSQL) and keeps for reuse, binding the provided values to its '?'
+	 * placeholders in order and handing each matching row to the provided RowVisitor as it is read.
+	 * 
+	 * The compiled statement is cached by its sql, so nothing is generated or parsed per search.
+	 * 
+	 * @param sql - String object representing a select statement as produced by TableType.generateSearchSQL
+	 * @param search - String[] containing the value for each '?' placeholder, in order
+	 * @param visitor - RowVisitor object to receive each matching row
+	 * @return - Returns a boolean value; true if the search ran to completion, false otherwise
+	 */
+	
+	public static boolean searchEach(String sql, String[] search, RowVisitor visitor) {
+		return query(sql, sql, sql, Arrays.asList(search), visitor);
+	}
+	
+	/**
+	 * This method runs a date range search that the caller has already generated (with
+	 * TableType.generateRangeSQL) and keeps for reuse, handing each entry whose dates overlap
+	 * the range from start to end (inclusive) to the provided RowVisitor in chronological order.
+	 * 
+	 * The dates are bound in their stored form, so the comparison is made on integers and
+	 * can use the table's range index.
+	 * 
+	 * @param sql - String object representing a select statement as produced by TableType.generateRangeSQL
+	 * @param search - String[] containing the value for each matched column, in order
+	 * @param start - LocalDate object representing the first day of the range; null for no lower bound
+	 * @param end - LocalDate object representing the last day of the range; null for no upper bound
+	 * @param visitor - RowVisitor object to receive each matching row
+	 * @return - Returns a boolean value; true if the search ran to completion, false otherwise
+	 */
+	
+	public static boolean searchRange(String sql, String[] search, LocalDate start, LocalDate end, RowVisitor visitor) {
+		ArrayList<String> values = new ArrayList<String>(Arrays.asList(search));
+		values.add(TableType.encodeDate(start == null ? LocalDate.MIN : start));
+		values.add(TableType.encodeDate(end == null ? LocalDate.MAX : end));
+		return query(sql, sql, sql, values, visitor);
+	}
+	
+	/**
+	 * Helper method that runs a search against the defined table using a PreparedStatement
+	 * whose WHERE clause covers the provided columns, binding the provided values to its
+	 * '?' placeholders, and hands each resulting row to the visitor as it is read. The
+	 * ResultSet is always closed before returning.
+	 * 
+	 * PreparedStatements are cached by table and column set, so repeat lookups of the same
+	 * shape skip parsing and planning in SQLite.
+	 * 
+	 * @param tableTitle - String object representing the table in the database to query
+	 * @param columns - ArrayList<<r>String> of column headers being searched by
+	 * @param values - ArrayList<<r>String> of values each corresponding column must match
+	 * @param visitor - RowVisitor object to receive each matching row
+	 * @return - Returns a boolean value; true if the search ran to completion, false otherwise
+	 */
+	
+	private static boolean query(String tableTitle, ArrayList<String> columns, ArrayList<String> values, RowVisitor visitor) {
+		String key = tableTitle + ":" + String.join(",", columns);
+		return query(tableTitle, key, TableType.generateSearchSQL(tableTitle, columns.toArray(new String[columns.size()])), values, visitor);
+	}
+	
+	private static boolean query(String tableTitle, String key, String sql, List<String> values, RowVisitor visitor) {
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
+			return false;
+		}
+		try {
+			PreparedStatement prep = pooled.getStatement(key, sql);
+			for(int i = 0; i < values.size(); i++) {
+				prep.setString(i + 1, values.get(i));
+			}
+			try(ResultSet result = prep.executeQuery()) {
+				int nCol = result.getMetaData().getColumnCount();
+				while(result.next()) {
+					String[] row = new String[nCol];
+					for(int iCol = 1; iCol <= nCol; iCol++) {
+						row[iCol - 1] = result.getString(iCol);
+					}
+					visitor.visit(row);
+				}
 			}
-		}catch(Exception e) {
+			return true;
+		}
+		catch(SQLException e) {
 			e.printStackTrace();
-			System.out.println("error searching in table: " + tableType);
-			return null;
+			System.out.println("error searching in table: " + tableTitle);
+			pooled.forgetStatement(key);
+			return false;
+		}
+		finally {
+			release(pooled);
 		}
 	}
 	
@@ -601,11 +1074,16 @@ public class Database {
 	 */
 	
 	public static void printTable(TableType type) {
-		if(!db_is_initialized) {
-			initialize();
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
+			return;
+		}
+		try {
+			DBTablePrinter.printTable(pooled.getConnection(), type.toString());
+		}
+		finally {
+			release(pooled);
 		}
-		connect();
-		DBTablePrinter.printTable(connection, type.toString());
 	}
 	
 	/**	
@@ -615,15 +1093,434 @@ public class Database {
 	 */
 	
 	public static void printTable(String table) {
-		if(!db_is_initialized) {
-			initialize();
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
+			return;
+		}
+		try {
+			DBTablePrinter.printTable(pooled.getConnection(), table);
+		}
+		finally {
+			release(pooled);
 		}
-		connect();
-		DBTablePrinter.printTable(connection, table);
 	}
 	
 // -- Helper Methods --------------------------------------------------------------------------
 	
+	/**
+	 * Helper method that runs the provided upsert sql statement with the given values bound.
+	 * 
+	 * @param tableTitle - String object representing the table being written to, for error reporting
+	 * @param sql - String object representing the upsert sql statement
+	 * @param values - String[] of values to bind to the statement
+	 * @return - Returns a boolean value representing whether or not the write was successful
+	 */
+	
+	private static boolean upsert(String tableTitle, String sql, String[] values) {
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
+			return false;
+		}
+		try(PreparedStatement prep = pooled.prepare(sql)) {
+			for(int i = 0; i < values.length; i++) {
+				prep.setString(i + 1, values[i]);
+			}
+			prep.executeUpdate();
+		}
+		catch(SQLException e) {
+			e.printStackTrace();
+			System.out.println("error upserting into table -> " + tableTitle);
+			return false;
+		}
+		finally {
+			release(pooled);
+		}
+		return true;
+	}
+	
+	/**
+	 * Helper method that converts the date columns of a table made before dates were stored as
+	 * epoch days. If any column meant to be of DATE_SQL_TYPE was created with another type, the
+	 * table is renamed aside, created anew from createSQL, and its rows copied across with each
+	 * dd/MM/yyyy date rewritten as an epoch day, all in one transaction. The old table's indexes
+	 * are dropped with it, so keys and indexes should be (re)applied afterwards.
+	 * 
+	 * Rows are copied oldest first, replacing any earlier row with the same key, so the latest
+	 * entry for each key is the one kept. Dates that cannot be read are copied unchanged and
+	 * reported.
+	 * 
+	 * Each table is checked once per run of the program; a migration that fails is tried again
+	 * the next time the table is included.
+	 * 
+	 * @param pooled - PooledConnection object to the database to use
+	 * @param tableTitle - String object representing the table to check
+	 * @param fields - String[] representing the column titles of the table
+	 * @param sqlTypes - String[] representing the sql type each column should have
+	 * @param createSQL - String object representing the sql statement creating the table as it should be
+	 */
+	
+	private static void migrateDates(PooledConnection pooled, String tableTitle, String[] fields, String[] sqlTypes, String createSQL) {
+		if(dateChecked.contains(tableTitle)) {
+			return;
+		}
+		ArrayList<Integer> dateColumns = new ArrayList<Integer>();
+		for(int i = 0; i < sqlTypes.length; i++) {
+			if(TableType.DATE_SQL_TYPE.equalsIgnoreCase(sqlTypes[i])) {
+				dateColumns.add(i);
+			}
+		}
+		if(dateColumns.isEmpty()) {
+			dateChecked.add(tableTitle);
+			return;
+		}
+		String[] columns = new String[fields.length];
+		for(int i = 0; i < columns.length; i++) {
+			columns[i] = fields[i].replaceAll(" ", "_");
+		}
+		Connection connection = pooled.getConnection();
+		try(Statement state = pooled.createStatement()) {
+			HashMap<String, String> declared = new HashMap<String, String>();
+			try(ResultSet info = state.executeQuery("PRAGMA table_info(" + tableTitle + ");")) {
+				while(info.next()) {
+					declared.put(info.getString("name"), info.getString("type"));
+				}
+			}
+			boolean stale = false;
+			for(int i : dateColumns) {
+				stale |= declared.containsKey(columns[i]) && !TableType.DATE_SQL_TYPE.equalsIgnoreCase(declared.get(columns[i]));
+			}
+			if(!stale) {
+				dateChecked.add(tableTitle);
+				return;
+			}
+			String legacy = tableTitle + "_legacy";
+			connection.setAutoCommit(false);
+			try {
+				state.execute("DROP TABLE IF EXISTS " + legacy + ";");
+				state.execute("ALTER TABLE " + tableTitle + " RENAME TO " + legacy + ";");
+				state.execute(createSQL);
+				int copied = 0;
+				int unreadable = 0;
+				try(PreparedStatement insert = pooled.prepare(TableType.generateCreateTableInsertionSQL(tableTitle, fields, TableType.CONFLICT_REPLACE));
+						ResultSet rows = state.executeQuery("SELECT " + String.join(",", columns) + " FROM " + legacy + " ORDER BY rowid;")) {
+					while(rows.next()) {
+						for(int i = 0; i < columns.length; i++) {
+							String value = rows.getString(i + 1);
+							if(dateColumns.contains(i) && value != null && !value.isEmpty()) {
+								LocalDate date = TableType.decodeDate(value);
+								if(date != null) {
+									value = TableType.encodeDate(date);
+								}
+								else {
+									unreadable++;
+									System.out.println("unreadable date in " + tableTitle + "." + columns[i] + " left as is: " + value);
+								}
+							}
+							insert.setString(i + 1, value);
+						}
+						insert.addBatch();
+						copied++;
+					}
+					insert.executeBatch();
+				}
+				state.execute("DROP TABLE " + legacy + ";");
+				connection.commit();
+				dateChecked.add(tableTitle);
+				System.out.println("migrated " + copied + " rows of " + tableTitle + " to epoch-day dates" + (unreadable > 0 ? ", " + unreadable + " dates unreadable" : ""));
+			}
+			catch(SQLException e) {
+				connection.rollback();
+				throw e;
+			}
+			finally {
+				connection.setAutoCommit(true);
+			}
+		}
+		catch(SQLException e) {
+			e.printStackTrace();
+			System.out.println("error migrating dates of table: " + tableTitle);
+		}
+	}
+	
+	/**
+	 * Helper method that gives the defined table a unique index over the provided key columns
+	 * if it does not have one yet, first clearing out all but the latest entry for each key so
+	 * tables written before keys were enforced can be keyed.
+	 * 
+	 * A table whose key is already its primary key (as every TableType's is) needs no second
+	 * index, which would only be one more B-tree to update on every insert; if one was made by
+	 * an earlier version, it is dropped.
+	 * 
+	 * @param pooled - PooledConnection object to the database to use
+	 * @param tableTitle - String object representing the table to key
+	 * @param keyFields - String[] representing the column titles forming the key
+	 */
+	
+	private static void ensureUniqueKey(PooledConnection pooled, String tableTitle, String[] keyFields) {
+		boolean keyed = indexExists(pooled, tableTitle + "_key");
+		if(hasUniqueIndex(pooled, tableTitle, keyFields, tableTitle + "_key")) {
+			if(keyed) {
+				try(Statement state = pooled.createStatement()) {
+					state.execute("DROP INDEX IF EXISTS " + tableTitle + "_key;");
+				}
+				catch(SQLException e) {
+					e.printStackTrace();
+					System.out.println("error dropping duplicate key for table: " + tableTitle);
+				}
+			}
+			return;
+		}
+		if(keyed) {
+			return;
+		}
+		try(Statement state = pooled.createStatement()) {
+			for(String sql : TableType.generateUniqueKeySQL(tableTitle, keyFields)) {
+				state.execute(sql);
+			}
+		}
+		catch(SQLException e) {
+			e.printStackTrace();
+			System.out.println("error creating unique key for table: " + tableTitle);
+		}
+	}
+	
+	/**
+	 * Helper method that checks whether the defined table has a unique index, such as the one
+	 * SQLite makes for a primary key, over exactly the provided columns (in any order).
+	 * 
+	 * @param pooled - PooledConnection object to the database to use
+	 * @param tableTitle - String object representing the table to check
+	 * @param keyFields - String[] representing the column titles the index must cover
+	 * @param ignore - String object representing the name of an index not to count
+	 * @return - Returns a boolean value; true if such an index exists, false otherwise
+	 */
+	
+	private static boolean hasUniqueIndex(PooledConnection pooled, String tableTitle, String[] keyFields, String ignore) {
+		HashSet<String> key = new HashSet<String>();
+		for(String field : keyFields) {
+			key.add(field.replaceAll(" ", "_").toLowerCase());
+		}
+		try(Statement state = pooled.createStatement()) {
+			ArrayList<String> unique = new ArrayList<String>();
+			try(ResultSet list = state.executeQuery("PRAGMA index_list('" + tableTitle + "');")) {
+				while(list.next()) {
+					if(list.getInt("unique") == 1 && !list.getString("name").equals(ignore)) {
+						unique.add(list.getString("name"));
+					}
+				}
+			}
+			for(String index : unique) {
+				HashSet<String> columns = new HashSet<String>();
+				try(ResultSet info = state.executeQuery("PRAGMA index_info('" + index + "');")) {
+					while(info.next()) {
+						columns.add(info.getString("name").toLowerCase());
+					}
+				}
+				if(columns.equals(key)) {
+					return true;
+				}
+			}
+		}
+		catch(SQLException e) {
+			e.printStackTrace();
+		}
+		return false;
+	}
+	
+	/**
+	 * Helper method that queries sqlite_master for whether a table of the given name exists,
+	 * without opening a cursor over the table itself.
+	 * 
+	 * @param pooled - PooledConnection object to the database to use
+	 * @param tableTitle - String object representing the table to look for
+	 * @return - Returns a boolean value; true if the table exists, false otherwise
+	 */
+	
+	private static boolean tableExists(PooledConnection pooled, String tableTitle) {
+		return schemaObjectExists(pooled, "table", tableTitle);
+	}
+	
+	/**
+	 * Helper method that queries sqlite_master for whether an index of the given name exists.
+	 * 
+	 * @param pooled - PooledConnection object to the database to use
+	 * @param indexTitle - String object representing the index to look for
+	 * @return - Returns a boolean value; true if the index exists, false otherwise
+	 */
+	
+	private static boolean indexExists(PooledConnection pooled, String indexTitle) {
+		return schemaObjectExists(pooled, "index", indexTitle);
+	}
+	
+	/**
+	 * Helper method that looks up a schema object of the given type and name in sqlite_master
+	 * using a cached statement.
+	 * 
+	 * @param pooled - PooledConnection object to the database to use
+	 * @param type - String object representing the kind of object ('table', 'index')
+	 * @param title - String object representing the name of the object
+	 * @return - Returns a boolean value; true if the object exists, false otherwise
+	 */
+	
+	private static boolean schemaObjectExists(PooledConnection pooled, String type, String title) {
+		try {
+			PreparedStatement check = pooled.getStatement("sqlite_master:type,name", TableType.generateSearchSQL("sqlite_master", new String[] {"type", "name"}));
+			check.setString(1, type);
+			check.setString(2, title);
+			try(ResultSet result = check.executeQuery()) {
+				return result.next();
+			}
+		}
+		catch(SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+	
+	/**
+	 * Helper method that builds a new UsernameFilter from every username in the users table,
+	 * sized for the number found, and puts it in place of the old one.
+	 * 
+	 * @param pooled - PooledConnection object to the database to use
+	 */
+	
+	private static void loadUsernames(PooledConnection pooled) {
+		synchronized(usernameLock) {
+			ArrayList<String> found = new ArrayList<String>();
+			try(Statement state = pooled.createStatement();
+					ResultSet result = state.executeQuery(SQL_USERNAMES)) {
+				while(result.next()) {
+					found.add(result.getString(1));
+				}
+			}
+			catch(SQLException e) {
+				e.printStackTrace();
+				System.out.println("error reading usernames; unknown usernames will be looked up");
+				usernames = null;
+				return;
+			}
+			UsernameFilter filter = new UsernameFilter(found.size() * 2);
+			for(String user : found) {
+				filter.add(user);
+			}
+			usernames = filter;
+		}
+	}
+	
+	/**
+	 * Helper method that adds a newly created user's username to the UsernameFilter, building
+	 * the filter again from the users table if it now holds more than it was sized for.
+	 * 
+	 * @param pooled - PooledConnection object to the database to use
+	 * @param username - String object representing the username just added to the users table
+	 */
+	
+	private static void addUsername(PooledConnection pooled, String username) {
+		synchronized(usernameLock) {
+			UsernameFilter filter = usernames;
+			if(filter == null) {
+				return;
+			}
+			filter.add(username);
+			if(filter.needsRebuild()) {
+				loadUsernames(pooled);
+			}
+		}
+	}
+	
+	/**
+	 * Helper method that replaces the salted password and salt of each provided user inside a
+	 * single transaction, skipping any user whose salted password is no longer the one expected.
+	 * 
+	 * @param updates - List<<r>String[]> containing, for each user, the new salted password, salt, username and expected salted password
+	 * @return - Returns an int value representing how many users were updated, or -1 if the transaction failed
+	 */
+	
+	private static int updateCredentials(List<String[]> updates) {
+		if(updates.isEmpty()) {
+			return 0;
+		}
+		PooledConnection pooled = borrow();
+		if(pooled == null) {
+			return -1;
+		}
+		Connection connection = pooled.getConnection();
+		try {
+			connection.setAutoCommit(false);
+			try(PreparedStatement prep = pooled.prepare(SQL_UPDATE_CREDENTIALS)) {
+				for(String[] update : updates) {
+					for(int i = 0; i < update.length; i++) {
+						prep.setString(i + 1, update[i]);
+					}
+					prep.addBatch();
+				}
+				int updated = 0;
+				for(int count : prep.executeBatch()) {
+					updated += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+				}
+				connection.commit();
+				return updated;
+			}
+			catch(SQLException e) {
+				connection.rollback();
+				throw e;
+			}
+			finally {
+				connection.setAutoCommit(true);
+			}
+		}
+		catch(SQLException e) {
+			e.printStackTrace();
+			System.out.println("error updating password hashes, rolled back");
+			return -1;
+		}
+		finally {
+			release(pooled);
+		}
+	}
+	
+	/**
+	 * Helper method that creates the secondary index described by includeIndex using the
+	 * provided connection.
+	 * 
+	 * @param pooled - PooledConnection object to the database to use
+	 * @param tableType - String object representing which database table to index
+	 * @param fields - String[] representing the columns to index, in order
+	 */
+	
+	private static void includeIndex(PooledConnection pooled, String tableType, String[] fields) {
+		try(Statement state = pooled.createStatement()) {
+			state.execute(TableType.generateIndexSQL(tableType, fields));
+		}
+		catch(SQLException e) {
+			e.printStackTrace();
+			System.out.println("error creating index for table: " + tableType);
+		}
+	}
+	
+	/**
+	 * Helper method that runs each sql statement in the provided group as a JDBC batch, binding
+	 * every one of its associated rows of values in turn.
+	 * 
+	 * @param pooled - PooledConnection object to the database, inside the caller's transaction
+	 * @param group - Map<<r>String, List<<r>String[]>> object leading from sql statements to the values bound to each
+	 * @throws SQLException - Thrown if any statement in the group fails
+	 */
+	
+	private static void executeBatch(PooledConnection pooled, Map<String, List<String[]>> group) throws SQLException {
+		for(Map.Entry<String, List<String[]>> entry : group.entrySet()) {
+			try(PreparedStatement prep = pooled.prepare(entry.getKey())) {
+				for(String[] values : entry.getValue()) {
+					for(int i = 0; i < values.length; i++) {
+						prep.setString(i + 1, values[i]);
+					}
+					prep.addBatch();
+				}
+				prep.executeBatch();
+			}
+		}
+	}
+	
 	/**	
 	 * Helper method that returns a list of String[] object based on the input ResultSet object
 	 * 
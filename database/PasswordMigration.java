@@ -0,0 +1,92 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import controller.PasswordHasher;
+
+/**
+ * This class strengthens the stored password hashes of many users at once, for an upgrade an
+ * administrator starts with Database.migratePasswords() rather than waiting for each user to
+ * log in. Passwords are not known here, so each hash below the current scheme and cost is
+ * wrapped in an outer layer of it (see PasswordHasher.strengthen); users are hashed plainly
+ * again the next time they log in.
+ *
+ * The rows are split in halves until each piece is small, and the pieces hashed in parallel on
+ * a ForkJoinPool no larger than the PasswordHasher's thread count, so a bulk upgrade uses no
+ * more of the machine than logins may.
+ *
+ * @author Regan Lynch
+ *
+ */
+
+class PasswordMigration extends RecursiveTask<List<String[]>> {
+
+//---  Constant Values   ----------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** int value representing the most rows hashed by one task without splitting it further*/
+	private final static int THRESHOLD = 8;
+
+//---  Instance Variables   -------------------------------------------------------------------
+
+	/** List<<r>String[]> object containing the username, salted password and salt of each user*/
+	private List<String[]> rows;
+	/** int value representing the first row this task covers*/
+	private int from;
+	/** int value representing the row after the last one this task covers*/
+	private int to;
+
+//---  Constructors   -------------------------------------------------------------------------
+
+	private PasswordMigration(List<String[]> rowsIn, int fromIn, int toIn) {
+		rows = rowsIn;
+		from = fromIn;
+		to = toIn;
+	}
+
+//---  Operations   ---------------------------------------------------------------------------
+
+	/**
+	 * This method strengthens the hash of every provided user that is below the current scheme
+	 * and cost, in parallel.
+	 *
+	 * @param rows - List<<r>String[]> object containing the username, salted password and salt of each user
+	 * @return - Returns a List<<r>String[]> containing, for each strengthened user, the new salted password, salt, username and old salted password
+	 */
+
+	static List<String[]> strengthen(List<String[]> rows) {
+		ForkJoinPool pool = new ForkJoinPool(PasswordHasher.getThreadCount());
+		try {
+			return pool.invoke(new PasswordMigration(rows, 0, rows.size()));
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Override
+	protected List<String[]> compute() {
+		if(to - from > THRESHOLD) {
+			int middle = (from + to) >>> 1;
+			PasswordMigration left = new PasswordMigration(rows, from, middle);
+			left.fork();
+			List<String[]> out = new PasswordMigration(rows, middle, to).compute();
+			List<String[]> joined = left.join();
+			joined.addAll(out);
+			return joined;
+		}
+		List<String[]> out = new ArrayList<String[]>();
+		for(int i = from; i < to; i++) {
+			String[] row = rows.get(i);
+			String strengthened = PasswordHasher.strengthen(row[1], row[2]);
+			if(strengthened != null) {
+				out.add(new String[] {strengthened, row[2], row[0], row[1]});
+			}
+		}
+		return out;
+	}
+
+}
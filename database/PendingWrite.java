@@ -0,0 +1,133 @@
+package database;
+
+/**
+ * This class records a single write added to a WriteBatch (the table, columns and values it
+ * touches as well as its sql), so that writes waiting in the WriteBehind queue can be compared
+ * with one another and coalesced.
+ *
+ * @author Regan Lynch
+ *
+ */
+
+class PendingWrite {
+
+//---  Instance Variables   -------------------------------------------------------------------
+
+	/** boolean value representing whether this write is a deletion (true) or an upsert (false)*/
+	private boolean delete;
+	/** String object representing the table this write is to*/
+	private String table;
+	/** String[] representing the column headers of the values, with spaces as stored in the database*/
+	private String[] fields;
+	/** String[] representing the values bound to the sql statement*/
+	private String[] values;
+	/** int value representing how many leading columns form the key of an upsert; 0 for deletions*/
+	private int keyLength;
+	/** String object representing the sql statement performing this write*/
+	private String sql;
+	/** int value representing how many times this write has failed to commit*/
+	private int failures;
+
+//---  Constructors   -------------------------------------------------------------------------
+
+	/**
+	 * Constructor for objects of the PendingWrite type.
+	 *
+	 * @param isDelete - boolean value representing whether this write is a deletion
+	 * @param tableTitle - String object representing the table this write is to
+	 * @param fieldsIn - String[] representing the column headers of the values
+	 * @param valuesIn - String[] representing the values bound to the sql statement
+	 * @param keyLengthIn - int value representing how many leading columns form the key of an upsert
+	 * @param sqlIn - String object representing the sql statement performing this write
+	 */
+
+	PendingWrite(boolean isDelete, String tableTitle, String[] fieldsIn, String[] valuesIn, int keyLengthIn, String sqlIn){
+		delete = isDelete;
+		table = tableTitle;
+		fields = new String[fieldsIn.length];
+		for(int i = 0; i < fields.length; i++) {
+			fields[i] = fieldsIn[i].replace(' ', '_');
+		}
+		values = valuesIn;
+		keyLength = keyLengthIn;
+		sql = sqlIn;
+	}
+
+//---  Getter Methods   -----------------------------------------------------------------------
+
+	boolean isDelete() {
+		return delete;
+	}
+
+	String[] getValues() {
+		return values;
+	}
+
+	String getSQL() {
+		return sql;
+	}
+
+	String getTable() {
+		return table;
+	}
+
+	String[] getFields() {
+		return fields;
+	}
+
+	/**
+	 * This method records that this write failed to commit once more.
+	 *
+	 * @return - Returns an int value representing how many times this write has now failed
+	 */
+
+	int fail() {
+		return ++failures;
+	}
+
+	/**
+	 * Getter method to produce a String identifying the row(s) this write replaces; two upserts
+	 * with the same identity write the same row, so only the later need be kept. Upserts without
+	 * a key (and deletions) are identified by their full statement and values.
+	 *
+	 * @return - Returns a String object identifying the row(s) this write affects
+	 */
+
+	String getIdentity() {
+		StringBuilder out = new StringBuilder(delete ? "D:" : "U:").append(table);
+		int length = keyLength;
+		if(delete || keyLength == 0) {
+			out.append('\u0000').append(sql);
+			length = values.length;
+		}
+		for(int i = 0; i < length; i++) {
+			out.append('\u0000').append(values[i]);
+		}
+		return out.toString();
+	}
+
+	/**
+	 * Getter method to query whether this deletion would remove the row written by the provided
+	 * upsert; i.e., they are to the same table and the upsert has every value this deletion matches on.
+	 *
+	 * @param upsert - PendingWrite object representing an upsert
+	 * @return - Returns a boolean value; true if this is a deletion that would remove the upserted row, false otherwise
+	 */
+
+	boolean covers(PendingWrite upsert) {
+		if(!delete || upsert.delete || !table.equals(upsert.table)) {
+			return false;
+		}
+		for(int i = 0; i < fields.length; i++) {
+			int j = 0;
+			while(j < upsert.fields.length && !upsert.fields[j].equals(fields[i])) {
+				j++;
+			}
+			if(j == upsert.fields.length || values[i] == null || !values[i].equals(upsert.values[j])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
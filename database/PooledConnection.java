@@ -0,0 +1,154 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+
+/**
+ * This class pairs a Connection handed out by the ConnectionPool with the PreparedStatements
+ * that have been compiled against it, so that cached statements are only ever reused on the
+ * Connection that created them (and by one thread at a time, while it is borrowed).
+ *
+ * @author Regan Lynch
+ *
+ */
+
+class PooledConnection {
+
+//---  Instance Variables   -------------------------------------------------------------------
+
+	/** Connection object to the database file*/
+	private Connection connection;
+	/** HashMap<<r>String, PreparedStatement> object caching compiled statements by a key describing their shape*/
+	private HashMap<String, PreparedStatement> statementCache;
+
+//---  Constructors   -------------------------------------------------------------------------
+
+	/**
+	 * Constructor for objects of the PooledConnection type that wraps the provided Connection.
+	 *
+	 * @param in - Connection object to the database file
+	 */
+
+	PooledConnection(Connection in){
+		connection = in;
+		statementCache = new HashMap<String, PreparedStatement>();
+	}
+
+//---  Getter Methods   -----------------------------------------------------------------------
+
+	/**
+	 * Getter method to access the wrapped Connection.
+	 *
+	 * @return - Returns the Connection object wrapped by this PooledConnection
+	 */
+
+	Connection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * Getter method to retrieve the cached PreparedStatement stored under the provided key,
+	 * compiling the provided sql statement and caching it first if there is none.
+	 *
+	 * @param key - String object describing the shape of the statement (table and columns)
+	 * @param sql - String object representing the sql statement to compile if not yet cached
+	 * @return - Returns a PreparedStatement object for the sql statement on this Connection
+	 * @throws SQLException - Thrown if the statement cannot be compiled
+	 */
+
+	PreparedStatement getStatement(String key, String sql) throws SQLException {
+		PreparedStatement prep = statementCache.get(key);
+		if(prep == null) {
+			prep = prepare(sql);
+			statementCache.put(key, prep);
+		}
+		return prep;
+	}
+
+	/**
+	 * This method compiles the provided sql statement on this Connection without caching it;
+	 * the caller is responsible for closing it (ideally with try-with-resources).
+	 *
+	 * @param sql - String object representing the sql statement to compile
+	 * @return - Returns a PreparedStatement object for the sql statement on this Connection
+	 * @throws SQLException - Thrown if the statement cannot be compiled
+	 */
+
+	PreparedStatement prepare(String sql) throws SQLException {
+		return StatementTracker.track(connection.prepareStatement(sql), sql);
+	}
+
+	/**
+	 * This method opens a plain Statement on this Connection for running one-off sql; the
+	 * caller is responsible for closing it (ideally with try-with-resources).
+	 *
+	 * @return - Returns a Statement object on this Connection
+	 * @throws SQLException - Thrown if the Statement cannot be opened
+	 */
+
+	Statement createStatement() throws SQLException {
+		return StatementTracker.track(connection.createStatement());
+	}
+
+	/**
+	 * This method removes the cached PreparedStatement stored under the provided key, closing
+	 * it; used when a statement has failed and should be recompiled on next use.
+	 *
+	 * @param key - String object describing the shape of the statement to forget
+	 */
+
+	void forgetStatement(String key) {
+		PreparedStatement prep = statementCache.remove(key);
+		if(prep != null) {
+			try {
+				prep.close();
+			}
+			catch(SQLException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Getter method to query whether the wrapped Connection is still usable.
+	 *
+	 * @return - Returns a boolean value; true if the Connection is open, false otherwise
+	 */
+
+	boolean isOpen() {
+		try {
+			return !connection.isClosed();
+		}
+		catch(SQLException e) {
+			return false;
+		}
+	}
+
+//---  Operations   ---------------------------------------------------------------------------
+
+	/**
+	 * This method closes every cached PreparedStatement and then the wrapped Connection.
+	 */
+
+	void close() {
+		for(PreparedStatement prep : statementCache.values()) {
+			try {
+				prep.close();
+			}
+			catch(SQLException e) {
+				e.printStackTrace();
+			}
+		}
+		statementCache.clear();
+		try {
+			connection.close();
+		}
+		catch(SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
+}
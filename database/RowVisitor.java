@@ -0,0 +1,25 @@
+package database;
+
+/**
+ * This interface describes an object that is handed each row of a Database search in turn,
+ * as the rows are read, rather than receiving them all at once in a List; this lets callers
+ * build their own objects from each row without the whole result being held in memory.
+ *
+ * The Database closes the underlying statement and result once every row has been visited
+ * (or the search has failed), so visitors do not need to manage any resources.
+ *
+ * @author Regan Lynch
+ *
+ */
+
+public interface RowVisitor {
+
+	/**
+	 * This method is called once for each row matched by a search, in the order they are read.
+	 *
+	 * @param row - String[] containing the values of the row's columns, in the table's column order
+	 */
+
+	public void visit(String[] row);
+
+}
@@ -0,0 +1,114 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class keeps count of the Statements the Database has opened but not yet closed, so
+ * that any that are leaked (and so hold on to native SQLite memory) can be reported.
+ *
+ * Tracking is off unless the program is started with -Dpanyk.db.debug=true, in which case
+ * every Statement is wrapped so that its closing can be observed and a report of any still
+ * open is printed when the program exits. When off, Statements are passed through untouched.
+ *
+ * @author Regan Lynch
+ *
+ */
+
+class StatementTracker {
+
+//---  Constant Values   ----------------------------------------------------------------------
+
+	/** boolean value representing whether Statements are being tracked*/
+	final static boolean ENABLED = Boolean.getBoolean("panyk.db.debug");
+
+//---  Static Variables   ---------------------------------------------------------------------
+
+	/** ConcurrentHashMap<<r>Integer, String> object leading from the id of each open Statement to a description of where it was opened*/
+	private static ConcurrentHashMap<Integer, String> open = new ConcurrentHashMap<Integer, String>();
+	/** AtomicInteger object handing out ids to tracked Statements*/
+	private static AtomicInteger nextId = new AtomicInteger();
+
+	static {
+		if(ENABLED) {
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> report()));
+		}
+	}
+
+//---  Operations   ---------------------------------------------------------------------------
+
+	/**
+	 * This method begins tracking the provided PreparedStatement if tracking is enabled.
+	 *
+	 * @param prep - PreparedStatement object that has just been opened
+	 * @param sql - String object representing the sql it was prepared with, for the report
+	 * @return - Returns the PreparedStatement to use in its place
+	 */
+
+	static PreparedStatement track(PreparedStatement prep, String sql) {
+		return ENABLED ? wrap(prep, PreparedStatement.class, sql) : prep;
+	}
+
+	/**
+	 * This method begins tracking the provided Statement if tracking is enabled.
+	 *
+	 * @param state - Statement object that has just been opened
+	 * @return - Returns the Statement to use in its place
+	 */
+
+	static Statement track(Statement state) {
+		return ENABLED ? wrap(state, Statement.class, "(plain statement)") : state;
+	}
+
+	/**
+	 * Getter method to query how many tracked Statements are still open.
+	 *
+	 * @return - Returns an int value representing the number of open Statements; always 0 if tracking is off
+	 */
+
+	static int openCount() {
+		return open.size();
+	}
+
+	/**
+	 * This method prints how many tracked Statements are still open and where each was opened.
+	 */
+
+	static void report() {
+		if(!ENABLED) {
+			return;
+		}
+		System.out.println("Database statements still open: " + open.size());
+		for(String where : open.values()) {
+			System.out.println(" - " + where);
+		}
+	}
+
+//---  Helper Methods   -----------------------------------------------------------------------
+
+	@SuppressWarnings("unchecked")
+	private static <T extends Statement> T wrap(T target, Class<T> type, String sql) {
+		Integer id = nextId.incrementAndGet();
+		StackTraceElement[] trace = new Throwable().getStackTrace();
+		String caller = trace.length > 3 ? trace[3].toString() : "unknown";
+		open.put(id, sql + " opened at " + caller);
+		InvocationHandler handler = (proxy, method, args) -> {
+			if(method.getName().equals("close")) {
+				open.remove(id);
+			}
+			try {
+				return method.invoke(target, args);
+			}
+			catch(InvocationTargetException e) {
+				throw e.getCause();
+			}
+		};
+		return (T)Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+	}
+
+}
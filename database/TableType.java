@@ -1,5 +1,8 @@
 package database;
 
+import java.time.LocalDate;
+import controller.DateCodec;
+
 /**	
  * Enumeration definition for each table type in the database
  * 
@@ -13,25 +16,27 @@ public enum TableType {
 	 * for all enumerations format is:
 	 * 		<field name>, <field type>, ...
 	 * Final string in enumeration is the key field (if length of arguments is not even).
-	 * In this format there can only be one key field.
+	 * In this format there can only be one key entry, but it may name several comma-separated
+	 * fields (i.e. "username,tripTitle") to form a composite key.
+	 * Dates are stored in columns of type DATE_SQL_TYPE ("dateint"); see encodeDate().
 	 */
 	
 //---  Enumerations   -------------------------------------------------------------------------
 	
 	/** username, fname, lname, createdAt, salted_password, salt */			//KEY = username	(index 0)
-	users("username","varchar(60)", "fname","varchar(60)", "lname","varchar(60)", "createdAt", "varchar(60)", "salted_password","varchar(60)","salt", "varchar(60)", "username"),
+	users("username","varchar(60)", "fname","varchar(60)", "lname","varchar(60)", "createdAt", "varchar(60)", "salted_password","varchar(200)","salt", "varchar(60)", "username"),
 	
-	/** username, tripTitle, destination, startDate, endDate, description */				
-	trips("username", "varchar(60)", "tripTitle", "varchar(60)", "destination", "varchar(60)", "startDate", "varchar(60)", "endDate", "varchar(60)", "description", "varchar(60)"),
+	/** username, tripTitle, destination, startDate, endDate, description */				//KEY = username, tripTitle
+	trips("username", "varchar(60)", "tripTitle", "varchar(60)", "destination", "varchar(60)", "startDate", "dateint", "endDate", "dateint", "description", "varchar(60)", "username,tripTitle"),
 	
-	/** username, tripTitle, item, type */									
-	scheduleItem("username", "varchar(60)","tripTitle", "varchar(60)", "item", "varchar(60)", "type", "varchar(60)"),
+	/** username, tripTitle, item, type */									//KEY = username, tripTitle, item
+	scheduleItem("username", "varchar(60)","tripTitle", "varchar(60)", "item", "varchar(60)", "type", "varchar(60)", "username,tripTitle,item"),
 	
-	/** username, tripTitle, item, fname, lname, company, jobTitle, PhoneNumber, Address */				
-	contacts("username", "varchar(60)", "tripTitle", "varchar(60)", "item", "varchar(60)", "name", "varchar(60)", "description", "varchar(60)", "phoneNumber", "varchar(60)", "address", "varchar(60)"),
+	/** username, tripTitle, item, fname, lname, company, jobTitle, PhoneNumber, Address */				//KEY = username, tripTitle, item
+	contacts("username", "varchar(60)", "tripTitle", "varchar(60)", "item", "varchar(60)", "name", "varchar(60)", "description", "varchar(60)", "phoneNumber", "varchar(60)", "address", "varchar(60)", "username,tripTitle,item"),
 	
-	//username, type
-	shed_arc_types("username", "varchar(60)", "type", "varchar(60)");
+	//username, type																	//KEY = username, type
+	shed_arc_types("username", "varchar(60)", "type", "varchar(60)", "username,type");
 	
 	
 	/** username, tripTitle, item, startTime, endTime, mode */			
@@ -43,6 +48,19 @@ public enum TableType {
 	/** username, tripTitle, item, name, startDate, endDate, address*/
 	//reservations("username", "varchar(60)", "tripTitle", "varchar(60)", "name", "varchar(60)", "startDate", "varchar(60)", "endDate", "varchar(60)", "address", "varchar(60)");
 	
+//---  Constant Values   ----------------------------------------------------------------------
+	
+	/** String object representing the sql type of columns holding dates; as it contains 'INT', SQLite gives such columns integer affinity*/
+	public static final String DATE_SQL_TYPE = "dateint";
+	/** String object representing the title of the field at which a dated entry begins*/
+	public static final String RANGE_START_FIELD = "Start Date";
+	/** String object representing the title of the field at which a dated entry ends*/
+	public static final String RANGE_END_FIELD = "End Date";
+	/** String object representing the conflict clause that skips an insertion clashing with a unique key*/
+	public static final String CONFLICT_IGNORE = "IGNORE";
+	/** String object representing the conflict clause that replaces the extant entry clashing with a unique key*/
+	public static final String CONFLICT_REPLACE = "REPLACE";
+	
 //---  Instance Variables   -------------------------------------------------------------------
 	
 	/** */
@@ -55,6 +73,12 @@ public enum TableType {
 	public String sqlCreateTable;
 	/** sql statement for inserting into the table*/
 	public String sqlInsertTable;
+	/** String[] containing each field that makes up the key of the table, or null if there is no key*/
+	public String[] keyFields;
+	/** sql statement for inserting into the table, updating the extant entry if its key is already present*/
+	public String sqlUpsertTable;
+	/** String[] containing the fields of the table's secondary index for per-user lookups, or null if its key already serves them*/
+	public String[] indexFields;
 	
 //---  Constructors   -------------------------------------------------------------------------
 	
@@ -74,12 +98,50 @@ public enum TableType {
 			this.fields[i] = entries[i * 2];
 			this.fieldTypes[i] = entries[(i * 2) + 1];
 		}
+		this.keyFields = (this.keyField == null) ? null : this.keyField.split(",");
 		this.generateCreateTableSQL();
 		this.generateTableInsertionSQL();
+		this.sqlUpsertTable = (this.keyFields == null) ? null : generateUpsertSQL(this.toString(), this.fields, this.keyFields.length);
+		this.indexFields = generateOwnerIndexFields(this.fields, this.keyFields);
 	}
 	
 //---  Operations   ---------------------------------------------------------------------------
 	
+	/**
+	 * This method converts a date into the form it is stored in the database: the number of days
+	 * since 1970-01-01, so that dates sort and compare as integers and can be range-queried.
+	 * 
+	 * @param date - LocalDate object to be stored
+	 * @return - Returns a String object representing the epoch day of the date, or null if the date is null
+	 */
+	
+	public static String encodeDate(LocalDate date) {
+		return date == null ? null : Long.toString(date.toEpochDay());
+	}
+	
+	/**
+	 * This method converts a date as stored in the database back into a LocalDate; dates stored
+	 * as dd/MM/yyyy text before dates were stored as epoch days are also understood.
+	 * 
+	 * @param stored - String object representing the stored date
+	 * @return - Returns a LocalDate object for the stored date, or null if it is not a date
+	 */
+	
+	public static LocalDate decodeDate(String stored) {
+		if(stored == null || stored.isEmpty()) {
+			return null;
+		}
+		if(stored.indexOf('/') != -1) {
+			return DateCodec.parse(stored);
+		}
+		try {
+			return LocalDate.ofEpochDay(Long.parseLong(stored));
+		}
+		catch(NumberFormatException e) {
+			return null;
+		}
+	}
+	
 	/**
 	 *  This method generates the sql statement required to initialize a TableType object
 	 */
@@ -156,7 +218,24 @@ public enum TableType {
 	 */
 	
 	public static String generateCreateTableInsertionSQL(String tableTitle, String[] fieldsDyn) {
-		String sql = "INSERT INTO " + tableTitle + "(";
+		return generateCreateTableInsertionSQL(tableTitle, fieldsDyn, null);
+	}
+	
+	/**
+	 * This method creates the sql statement required to insert a new entry into the
+	 * database for a given Table Type, resolving a clash with a unique key by the provided
+	 * conflict clause (such as CONFLICT_IGNORE or CONFLICT_REPLACE).
+	 * 
+	 * Format is 'INSERT OR [conflict] INTO [tableTitle] ([title1],[title2],...) (?,?,...)'
+	 * 
+	 * @param tableTitle - String object representing the Table Type being inserted into.
+	 * @param fieldsDyn - String[] representing the column titles for this Table Type
+	 * @param conflict - String object representing the conflict clause, or null to fail on a clash
+	 * @return - Returns a String object representing the sql statement for inserting data into the database.
+	 */
+	
+	public static String generateCreateTableInsertionSQL(String tableTitle, String[] fieldsDyn, String conflict) {
+		String sql = (conflict == null ? "INSERT" : "INSERT OR " + conflict) + " INTO " + tableTitle + "(";
 		String valueStr = "values(";
 		for(int i = 0; i < fieldsDyn.length; i++) {
 			sql += fieldsDyn[i].replaceAll(" ", "_") + (i+1 < fieldsDyn.length ? "," : ")");
@@ -165,5 +244,224 @@ public enum TableType {
 		return sql + " " + valueStr;
 	}
 	
-}
-
+	/**
+	 * This method creates the sql statement required to search a Table Type for entries
+	 * matching a value in each of the provided columns.
+	 * 
+	 * Format is 'SELECT * FROM [tableTitle] WHERE [title1]=? AND [title2]=? ...'
+	 * 
+	 * Used in tandem with a PreparedStatement object's .setString method to fill in the '?'
+	 * parts, so the generated statement can be cached and reused across searches.
+	 * 
+	 * @param tableTitle - String object representing the Table Type being searched
+	 * @param fieldsDyn - String[] representing the column titles being searched by; may be empty to select everything
+	 * @return - Returns a String object representing the sql statement for searching the database.
+	 */
+	
+	public static String generateSearchSQL(String tableTitle, String[] fieldsDyn) {
+		String sql = "SELECT * FROM " + tableTitle;
+		for(int i = 0; i < fieldsDyn.length; i++) {
+			sql += (i == 0 ? " WHERE " : " AND ") + fieldsDyn[i].replaceAll(" ", "_") + "=?";
+		}
+		return sql + ";";
+	}
+	
+	/**
+	 * This method creates the sql statement required to delete every entry of a Table Type
+	 * matching a value in each of the provided columns.
+	 * 
+	 * Format is 'DELETE FROM [tableTitle] WHERE [title1]=? AND [title2]=? ...'
+	 * 
+	 * @param tableTitle - String object representing the Table Type being deleted from
+	 * @param fieldsDyn - String[] representing the column titles being matched on
+	 * @return - Returns a String object representing the sql statement for deleting from the database.
+	 */
+	
+	public static String generateDeleteSQL(String tableTitle, String[] fieldsDyn) {
+		String sql = "DELETE FROM " + tableTitle;
+		for(int i = 0; i < fieldsDyn.length; i++) {
+			sql += (i == 0 ? " WHERE " : " AND ") + fieldsDyn[i].replaceAll(" ", "_") + "=?";
+		}
+		return sql + ";";
+	}
+	
+	/**
+	 * This method creates the sql statement required to insert an entry into a Table Type, or
+	 * to update the extant entry in place if one already has the same key. The key is the first
+	 * keyLength columns of fieldsDyn, which must be covered by a unique index on the table.
+	 * 
+	 * Format is 'INSERT INTO [tableTitle] ([title1],...) values(?,...) ON CONFLICT([title1],...) DO UPDATE SET [titleN]=excluded.[titleN],...'
+	 * 
+	 * @param tableTitle - String object representing the Table Type being written to
+	 * @param fieldsDyn - String[] representing the column titles for this Table Type, key columns first
+	 * @param keyLength - int value representing how many leading columns form the key
+	 * @return - Returns a String object representing the sql statement for upserting into the database.
+	 */
+	
+	public static String generateUpsertSQL(String tableTitle, String[] fieldsDyn, int keyLength) {
+		String sql = generateCreateTableInsertionSQL(tableTitle, fieldsDyn) + " ON CONFLICT(";
+		for(int i = 0; i < keyLength; i++) {
+			sql += fieldsDyn[i].replaceAll(" ", "_") + (i + 1 < keyLength ? "," : ")");
+		}
+		if(keyLength >= fieldsDyn.length) {
+			return sql + " DO NOTHING;";
+		}
+		sql += " DO UPDATE SET ";
+		for(int i = keyLength; i < fieldsDyn.length; i++) {
+			String col = fieldsDyn[i].replaceAll(" ", "_");
+			sql += col + "=excluded." + col + (i + 1 < fieldsDyn.length ? "," : ";");
+		}
+		return sql;
+	}
+	
+	/**
+	 * This method creates the sql statements required to give a Table Type a unique key over
+	 * the provided columns. The first statement removes all but the latest of any entries that
+	 * share a key (so tables created before keys were enforced can be keyed), and the second
+	 * creates the unique index if it is not already present.
+	 * 
+	 * @param tableTitle - String object representing the Table Type being keyed
+	 * @param keyDyn - String[] representing the column titles forming the key
+	 * @return - Returns a String[] containing the sql statements to run in order
+	 */
+	
+	public static String[] generateUniqueKeySQL(String tableTitle, String[] keyDyn) {
+		String cols = "";
+		for(int i = 0; i < keyDyn.length; i++) {
+			cols += keyDyn[i].replaceAll(" ", "_") + (i + 1 < keyDyn.length ? "," : "");
+		}
+		return new String[] {
+				"DELETE FROM " + tableTitle + " WHERE rowid NOT IN (SELECT MAX(rowid) FROM " + tableTitle + " GROUP BY " + cols + ");",
+				"CREATE UNIQUE INDEX IF NOT EXISTS " + tableTitle + "_key ON " + tableTitle + "(" + cols + ");"
+		};
+	}
+	
+	/**
+	 * This method determines which columns of a Table Type should be indexed so that lookups by
+	 * username (and by username and tripTitle) do not scan the whole table. These are whichever
+	 * of 'username' and 'tripTitle' the table has, in that order.
+	 * 
+	 * If the table's key already begins with those columns then its unique index serves the same
+	 * lookups, so no secondary index is needed and null is returned.
+	 * 
+	 * @param fieldsDyn - String[] representing the column titles for the Table Type
+	 * @param keyDyn - String[] representing the column titles forming the table's key; may be null
+	 * @return - Returns a String[] of the columns to index, or null if no secondary index is needed
+	 */
+	
+	public static String[] generateOwnerIndexFields(String[] fieldsDyn, String[] keyDyn) {
+		String[] owners = new String[] {"username", "tripTitle"};
+		String[] found = new String[owners.length];
+		int count = 0;
+		for(String owner : owners) {
+			for(String field : fieldsDyn) {
+				if(owner.equals(field)) {
+					found[count++] = owner;
+					break;
+				}
+			}
+		}
+		if(count == 0) {
+			return null;
+		}
+		boolean covered = keyDyn != null && keyDyn.length >= count;
+		for(int i = 0; covered && i < count; i++) {
+			covered = found[i].equals(keyDyn[i]);
+		}
+		if(covered) {
+			return null;
+		}
+		String[] out = new String[count];
+		for(int i = 0; i < count; i++) {
+			out[i] = found[i];
+		}
+		return out;
+	}
+	
+	/**
+	 * This method creates the sql statement required to find every entry of a Table Type that
+	 * matches a value in each of the provided columns and whose dates overlap a range, in
+	 * chronological order (by start, then by end).
+	 * 
+	 * Format is 'SELECT * FROM [tableTitle] WHERE [title1]=? ... AND [endTitle]>=? AND [startTitle]<=? ORDER BY [startTitle],[endTitle]'
+	 * 
+	 * If a parent table is given, only entries with a row in it matching each of the parent columns
+	 * are found, by adding 'AND EXISTS (SELECT 1 FROM [parentTitle] WHERE [parentTitle].[parent1]=[tableTitle].[parent1] ...)'
+	 * before the ORDER BY; this is how Schedulables are limited to Trips that still exist.
+	 * 
+	 * The range's own start is bound before its end. With the index from generateRangeIndexFields,
+	 * SQLite seeks straight to the first entry ending on or after the range's start, so entries
+	 * that finished before the range are never read.
+	 * 
+	 * @param tableTitle - String object representing the Table Type being searched
+	 * @param fieldsDyn - String[] representing the column titles being matched on
+	 * @param startTitle - String object representing the column title holding each entry's start date
+	 * @param endTitle - String object representing the column title holding each entry's end date
+	 * @param parentTitle - String object representing the table each entry must have a row in, or null for none
+	 * @param parentDyn - String[] representing the column titles shared with the parent table that must match
+	 * @return - Returns a String object representing the sql statement for searching the database by date range.
+	 */
+	
+	public static String generateRangeSQL(String tableTitle, String[] fieldsDyn, String startTitle, String endTitle, String parentTitle, String[] parentDyn) {
+		String start = startTitle.replaceAll(" ", "_");
+		String end = endTitle.replaceAll(" ", "_");
+		String sql = "SELECT * FROM " + tableTitle + " WHERE ";
+		for(int i = 0; i < fieldsDyn.length; i++) {
+			sql += fieldsDyn[i].replaceAll(" ", "_") + "=? AND ";
+		}
+		sql += end + ">=? AND " + start + "<=?";
+		if(parentTitle != null) {
+			sql += " AND EXISTS (SELECT 1 FROM " + parentTitle + " WHERE ";
+			for(int i = 0; i < parentDyn.length; i++) {
+				String column = parentDyn[i].replaceAll(" ", "_");
+				sql += (i == 0 ? "" : " AND ") + parentTitle + "." + column + "=" + tableTitle + "." + column;
+			}
+			sql += ")";
+		}
+		return sql + " ORDER BY " + start + "," + end + ";";
+	}
+	
+	/**
+	 * This method determines which columns of a Table Type should be indexed so that searches
+	 * by date range (see generateRangeSQL) do not scan a user's whole history: username, then
+	 * RANGE_END_FIELD, then RANGE_START_FIELD.
+	 * 
+	 * @param fieldsDyn - String[] representing the column titles for the Table Type
+	 * @return - Returns a String[] of the columns to index, or null if the Table Type is not dated
+	 */
+	
+	public static String[] generateRangeIndexFields(String[] fieldsDyn) {
+		boolean user = false;
+		boolean start = false;
+		boolean end = false;
+		for(String field : fieldsDyn) {
+			user |= field.equals("username");
+			start |= field.equals(RANGE_START_FIELD);
+			end |= field.equals(RANGE_END_FIELD);
+		}
+		return user && start && end ? new String[] {"username", RANGE_END_FIELD, RANGE_START_FIELD} : null;
+	}
+	
+	/**
+	 * This method creates the sql statement required to add a secondary index over the provided
+	 * columns of a Table Type, doing nothing if that index already exists.
+	 * 
+	 * Format is 'CREATE INDEX IF NOT EXISTS [tableTitle]_idx_[title1]_[title2] ON [tableTitle]([title1],[title2])'
+	 * 
+	 * @param tableTitle - String object representing the Table Type being indexed
+	 * @param indexDyn - String[] representing the column titles to index, in order
+	 * @return - Returns a String object representing the sql statement for creating the index.
+	 */
+	
+	public static String generateIndexSQL(String tableTitle, String[] indexDyn) {
+		String name = tableTitle + "_idx";
+		String cols = "";
+		for(int i = 0; i < indexDyn.length; i++) {
+			String col = indexDyn[i].replaceAll(" ", "_");
+			name += "_" + col;
+			cols += col + (i + 1 < indexDyn.length ? "," : "");
+		}
+		return "CREATE INDEX IF NOT EXISTS " + name + " ON " + tableTitle + "(" + cols + ");";
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package database;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class is a Bloom filter over the usernames in the users table: a fixed array of bits in
+ * which each username sets a few bits chosen by hashing it. A username whose bits are not all
+ * set has certainly never been added, so the Database can turn away logins and availability
+ * checks for unknown names without querying SQLite; a username whose bits are all set is only
+ * probably present (about FALSE_POSITIVE_RATE of unknown names get through), and is checked
+ * against the table as before.
+ *
+ * Usernames can be added but not removed. The filter is sized for twice the users it is built
+ * with; once more than that have been added its error rate climbs, and needsRebuild() reports
+ * that it should be built again from the table.
+ *
+ * Safe to use from several threads at once.
+ *
+ * @author Regan Lynch
+ *
+ */
+
+class UsernameFilter {
+
+//---  Constant Values   ----------------------------------------------------------------------
+
+	/** double value representing the share of unknown usernames the filter is sized to let through*/
+	private final static double FALSE_POSITIVE_RATE = 0.01;
+	/** int value representing the fewest usernames a filter is sized for*/
+	private final static int MIN_CAPACITY = 1024;
+
+//---  Instance Variables   -------------------------------------------------------------------
+
+	/** AtomicLongArray object holding the filter's bits, 64 to an entry*/
+	private AtomicLongArray bits;
+	/** int value representing how many bits the filter has*/
+	private int bitCount;
+	/** int value representing how many bits each username sets*/
+	private int hashCount;
+	/** int value representing how many usernames the filter was sized for*/
+	private int capacity;
+	/** AtomicInteger object counting the usernames added*/
+	private AtomicInteger added;
+
+//---  Constructors   -------------------------------------------------------------------------
+
+	/**
+	 * Constructor for objects of the UsernameFilter type sized to hold the provided number of
+	 * usernames (at least MIN_CAPACITY) at FALSE_POSITIVE_RATE.
+	 *
+	 * @param expected - int value representing how many usernames the filter should hold
+	 */
+
+	UsernameFilter(int expected){
+		capacity = Math.max(expected, MIN_CAPACITY);
+		double ln2 = Math.log(2);
+		long size = (long)Math.ceil(-capacity * Math.log(FALSE_POSITIVE_RATE) / (ln2 * ln2));
+		bitCount = (int)Math.min(size, Integer.MAX_VALUE - 63);
+		hashCount = Math.max(1, (int)Math.round((double)bitCount / capacity * ln2));
+		bits = new AtomicLongArray((bitCount + 63) / 64);
+		added = new AtomicInteger();
+	}
+
+//---  Operations   ---------------------------------------------------------------------------
+
+	void add(String username) {
+		if(username == null) {
+			return;
+		}
+		long hash = hash(username);
+		int h1 = (int)hash;
+		int h2 = (int)(hash >>> 32);
+		for(int i = 0; i < hashCount; i++) {
+			int bit = index(h1 + i * h2);
+			long mask = 1L << (bit & 63);
+			long prior;
+			do {
+				prior = bits.get(bit >>> 6);
+			} while((prior & mask) == 0 && !bits.compareAndSet(bit >>> 6, prior, prior | mask));
+		}
+		added.incrementAndGet();
+	}
+
+	/**
+	 * This method queries whether the provided username may have been added to the filter.
+	 *
+	 * @param username - String object representing the username to check
+	 * @return - Returns a boolean value; false if the username was certainly never added, true if it probably was
+	 */
+
+	boolean mightContain(String username) {
+		if(username == null) {
+			return false;
+		}
+		long hash = hash(username);
+		int h1 = (int)hash;
+		int h2 = (int)(hash >>> 32);
+		for(int i = 0; i < hashCount; i++) {
+			int bit = index(h1 + i * h2);
+			if((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Getter method to query whether more usernames have been added than the filter was sized for.
+	 *
+	 * @return - Returns a boolean value; true if the filter should be built again, false otherwise
+	 */
+
+	boolean needsRebuild() {
+		return added.get() > capacity;
+	}
+
+//---  Helper Methods   -----------------------------------------------------------------------
+
+	private int index(int combined) {
+		return (combined & Integer.MAX_VALUE) % bitCount;
+	}
+
+	/**
+	 * Helper method that hashes the provided username to 64 bits (FNV-1a over its chars, then
+	 * mixed), whose two halves seed the double hashing that picks each of its bits.
+	 *
+	 * @param username - String object to hash
+	 * @return - Returns a long value representing the hash
+	 */
+
+	private static long hash(String username) {
+		long out = 0xcbf29ce484222325L;
+		for(int i = 0; i < username.length(); i++) {
+			out ^= username.charAt(i);
+			out *= 0x100000001b3L;
+		}
+		out ^= out >>> 33;
+		out *= 0xff51afd7ed558ccdL;
+		out ^= out >>> 33;
+		return out | 1L << 32;
+	}
+
+}
@@ -0,0 +1,163 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * This class gathers a collection of writes to the Database so that they can be submitted
+ * together by Database.commitBatch as a single transaction, rather than each one running
+ * (and committing) as its own statement.
+ *
+ * Writes are grouped by the sql statement they produce so that each group can be run as one
+ * JDBC batch. All deletions are performed before any upserts when committed.
+ *
+ * A WriteBatch may also be handed to Database.submitBatch, in which case its writes are merged
+ * into the WriteBehind queue and committed with others a short while later.
+ *
+ * @author Regan Lynch
+ *
+ */
+
+public class WriteBatch {
+
+//---  Instance Variables   -------------------------------------------------------------------
+
+	/** LinkedHashMap<<r>String, List<<r>String[]>> object leading from delete sql statements to the values bound to each*/
+	private LinkedHashMap<String, List<String[]>> deletes;
+	/** LinkedHashMap<<r>String, List<<r>String[]>> object leading from upsert sql statements to the values bound to each*/
+	private LinkedHashMap<String, List<String[]>> upserts;
+	/** ArrayList<<r>PendingWrite> object recording each write in the order it was added*/
+	private ArrayList<PendingWrite> writes;
+
+//---  Constructors   -------------------------------------------------------------------------
+
+	/**
+	 * Constructor for objects of the WriteBatch type that initializes empty storage for writes.
+	 */
+
+	public WriteBatch() {
+		deletes = new LinkedHashMap<String, List<String[]>>();
+		upserts = new LinkedHashMap<String, List<String[]>>();
+		writes = new ArrayList<PendingWrite>();
+	}
+
+//---  Adder Methods   ------------------------------------------------------------------------
+
+	/**
+	 * This method adds a row to be written to the defined table, updating in place any row that
+	 * matches it in the first keyLength columns (such as username, tripTitle and Name). The table
+	 * must have a unique key over those columns.
+	 *
+	 * @param tableTitle - String object representing the table in the database to write to
+	 * @param fields - String[] representing the column headers for each value, key columns first
+	 * @param values - String[] representing the values to be stored under the corresponding column headers
+	 * @param keyLength - int value representing how many leading columns form the table's key
+	 */
+
+	public void upsert(String tableTitle, String[] fields, String[] values, int keyLength) {
+		add(new PendingWrite(false, tableTitle, fields, values, keyLength, TableType.generateUpsertSQL(tableTitle, fields, keyLength)));
+	}
+
+	/**
+	 * This method adds a row to be written as upsert(tableTitle, fields, values, keyLength) does,
+	 * using an upsert statement the caller generated once and keeps for reuse instead of generating
+	 * it again for every row.
+	 *
+	 * @param tableTitle - String object representing the table in the database to write to
+	 * @param fields - String[] representing the column headers for each value, key columns first
+	 * @param values - String[] representing the values to be stored under the corresponding column headers
+	 * @param keyLength - int value representing how many leading columns form the table's key
+	 * @param sql - String object representing TableType.generateUpsertSQL(tableTitle, fields, keyLength)
+	 */
+
+	public void upsert(String tableTitle, String[] fields, String[] values, int keyLength, String sql) {
+		add(new PendingWrite(false, tableTitle, fields, values, keyLength, sql));
+	}
+
+	/**
+	 * This method adds a deletion of every row in the defined table matching all of the provided
+	 * column values.
+	 *
+	 * @param tableTitle - String object representing the table in the database to delete from
+	 * @param fields - String[] representing the column headers to match on
+	 * @param values - String[] representing the values each column must possess to be deleted
+	 */
+
+	public void delete(String tableTitle, String[] fields, String[] values) {
+		add(new PendingWrite(true, tableTitle, fields, values, 0, TableType.generateDeleteSQL(tableTitle, fields)));
+	}
+
+//---  Getter Methods   -----------------------------------------------------------------------
+
+	/**
+	 * Getter method to access the deletions in this WriteBatch grouped by their sql statement.
+	 *
+	 * @return - Returns a LinkedHashMap<<r>String, List<<r>String[]>> leading from sql statements to their bound values
+	 */
+
+	LinkedHashMap<String, List<String[]>> getDeletes(){
+		return deletes;
+	}
+
+	/**
+	 * Getter method to access the upserts in this WriteBatch grouped by their sql statement.
+	 *
+	 * @return - Returns a LinkedHashMap<<r>String, List<<r>String[]>> leading from sql statements to their bound values
+	 */
+
+	LinkedHashMap<String, List<String[]>> getUpserts(){
+		return upserts;
+	}
+
+	/**
+	 * Getter method to access each write in this WriteBatch in the order they were added.
+	 *
+	 * @return - Returns a List<<r>PendingWrite> object containing the writes in this WriteBatch
+	 */
+
+	List<PendingWrite> getWrites(){
+		return writes;
+	}
+
+	/**
+	 * Getter method to query how many writes have been added to this WriteBatch.
+	 *
+	 * @return - Returns an int value representing the number of writes in this WriteBatch
+	 */
+
+	public int size() {
+		return writes.size();
+	}
+
+	/**
+	 * Getter method to query whether this WriteBatch has nothing to write.
+	 *
+	 * @return - Returns a boolean value; true if no writes have been added, false otherwise
+	 */
+
+	public boolean isEmpty() {
+		return writes.isEmpty();
+	}
+
+//---  Helper Methods   -----------------------------------------------------------------------
+
+	/**
+	 * This method adds the provided write to this WriteBatch, grouping it with any others that
+	 * share its sql statement.
+	 *
+	 * @param write - PendingWrite object to add
+	 */
+
+	void add(PendingWrite write) {
+		LinkedHashMap<String, List<String[]>> group = write.isDelete() ? deletes : upserts;
+		List<String[]> rows = group.get(write.getSQL());
+		if(rows == null) {
+			rows = new ArrayList<String[]>();
+			group.put(write.getSQL(), rows);
+		}
+		rows.add(write.getValues());
+		writes.add(write);
+	}
+
+}
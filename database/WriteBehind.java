@@ -0,0 +1,246 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class holds writes submitted to the Database that have not yet been committed, so that
+ * the Model can carry on as soon as its own state is updated rather than waiting on the disk.
+ *
+ * Writes to the same row are coalesced (a later upsert replaces an earlier one, and a deletion
+ * drops any waiting upserts it would remove) and the remainder committed together as a single
+ * WriteBatch once the write delay has passed since the first of them arrived, once enough are
+ * waiting, or when flush() is called (such as on logout). Anything still waiting when the program
+ * exits is flushed by a shutdown hook.
+ *
+ * A write delay of 0 or less commits every submitted batch immediately, on the caller's thread.
+ *
+ * If a commit fails, its writes are tried again one at a time so that one bad write cannot hold
+ * back the rest. A write that fails MAX_FAILURES times (or at all once the timer has stopped) is
+ * dropped; each WriteFailureListener is told of every failure and whether the write was dropped.
+ *
+ * @author Regan Lynch
+ *
+ */
+
+class WriteBehind {
+
+//---  Constant Values   ----------------------------------------------------------------------
+
+	/** int value representing the least time in milliseconds to wait before retrying a failed flush*/
+	private final static int RETRY_DELAY = 1000;
+	/** int value representing how many times a write may fail to commit before it is dropped*/
+	private final static int MAX_FAILURES = 3;
+
+//---  Instance Variables   -------------------------------------------------------------------
+
+	/** int value representing how long in milliseconds writes may wait before being committed*/
+	private volatile int delay;
+	/** int value representing how many writes may wait before being committed regardless of the delay*/
+	private int limit;
+	/** LinkedHashMap<<r>String, PendingWrite> object leading from the identity of each waiting write to the write*/
+	private LinkedHashMap<String, PendingWrite> pending;
+	/** ScheduledExecutorService object running flushes once the delay has passed*/
+	private ScheduledExecutorService timer;
+	/** ScheduledFuture<<r>?> object representing the next scheduled flush, or null if none is scheduled*/
+	private ScheduledFuture<?> scheduled;
+	/** Object held while flushing so that flushes are committed one at a time and in order*/
+	private Object flushLock;
+	/** List<<r>WriteFailureListener> object containing the listeners told of failed writes*/
+	private List<WriteFailureListener> listeners;
+
+//---  Constructors   -------------------------------------------------------------------------
+
+	/**
+	 * Constructor for objects of the WriteBehind type.
+	 *
+	 * @param delayIn - int value representing how long in milliseconds writes may wait before being committed
+	 * @param limitIn - int value representing how many writes may wait before being committed regardless of the delay
+	 */
+
+	WriteBehind(int delayIn, int limitIn){
+		delay = delayIn;
+		limit = limitIn;
+		pending = new LinkedHashMap<String, PendingWrite>();
+		flushLock = new Object();
+		listeners = new CopyOnWriteArrayList<WriteFailureListener>();
+		timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Database-WriteBehind");
+			thread.setDaemon(true);
+			return thread;
+		});
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> flush()));
+	}
+
+//---  Operations   ---------------------------------------------------------------------------
+
+	/**
+	 * This method merges the writes in the provided WriteBatch into those waiting to be committed.
+	 *
+	 * @param batch - WriteBatch object containing the writes to perform
+	 * @return - Returns a boolean value; false only if the delay is 0 or less and the immediate commit failed
+	 */
+
+	boolean submit(WriteBatch batch) {
+		if(batch.isEmpty()) {
+			return true;
+		}
+		synchronized(this) {
+			for(PendingWrite write : batch.getWrites()) {
+				merge(write);
+			}
+			if(delay > 0) {
+				if(pending.size() >= limit) {
+					schedule(0);
+				}
+				else if(scheduled == null) {
+					schedule(delay);
+				}
+				return true;
+			}
+		}
+		return flush();
+	}
+
+	/**
+	 * This method commits every waiting write now, as a single transaction. If the commit fails
+	 * each write is committed on its own instead; those that still fail are kept (beneath any
+	 * submitted since) and another flush is scheduled, unless they have failed MAX_FAILURES times
+	 * or the timer has stopped, in which case they are dropped. Listeners hear of each failure.
+	 *
+	 * @return - Returns a boolean value representing whether or not every waiting write was committed
+	 */
+
+	boolean flush() {
+		synchronized(flushLock) {
+			LinkedHashMap<String, PendingWrite> taken;
+			synchronized(this) {
+				if(scheduled != null) {
+					scheduled.cancel(false);
+					scheduled = null;
+				}
+				if(pending.isEmpty()) {
+					return true;
+				}
+				taken = pending;
+				pending = new LinkedHashMap<String, PendingWrite>();
+			}
+			WriteBatch batch = new WriteBatch();
+			for(PendingWrite write : taken.values()) {
+				batch.add(write);
+			}
+			if(Database.commitBatch(batch)) {
+				return true;
+			}
+			LinkedHashMap<String, PendingWrite> retry = new LinkedHashMap<String, PendingWrite>();
+			ArrayList<PendingWrite> dropped = new ArrayList<PendingWrite>();
+			for(PendingWrite write : taken.values()) {
+				WriteBatch single = new WriteBatch();
+				single.add(write);
+				if(Database.commitBatch(single)) {
+					continue;
+				}
+				boolean drop = write.fail() >= MAX_FAILURES || timer.isShutdown();
+				if(drop) {
+					dropped.add(write);
+				}
+				else {
+					retry.put(write.getIdentity(), write);
+				}
+				for(WriteFailureListener listener : listeners) {
+					listener.writeFailed(write.getTable(), write.getFields(), write.getValues(), drop);
+				}
+			}
+			for(PendingWrite write : dropped) {
+				System.out.println("error writing to table " + write.getTable() + " after " + MAX_FAILURES + " attempts, dropped: " + String.join(", ", write.getValues()));
+			}
+			if(retry.isEmpty()) {
+				return dropped.isEmpty();
+			}
+			synchronized(this) {
+				LinkedHashMap<String, PendingWrite> newer = pending;
+				pending = retry;
+				for(PendingWrite write : newer.values()) {
+					merge(write);
+				}
+				System.out.println("error writing " + retry.size() + " queued writes to the database, will retry");
+				schedule(Math.max(delay, RETRY_DELAY));
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * This method flushes every waiting write and stops the timer; writes submitted afterwards
+	 * are committed immediately.
+	 */
+
+	void shutdown() {
+		delay = 0;
+		flush();
+		timer.shutdown();
+	}
+
+//---  Adder Methods   ------------------------------------------------------------------------
+
+	void addListener(WriteFailureListener listener) {
+		listeners.add(listener);
+	}
+
+//---  Setter Methods   -----------------------------------------------------------------------
+
+	/**
+	 * Setter method to change how long writes may wait before being committed; a value of 0 or
+	 * less commits each submitted batch immediately.
+	 *
+	 * @param delayIn - int value representing the new delay in milliseconds
+	 */
+
+	void setDelay(int delayIn) {
+		delay = delayIn;
+		if(delay <= 0) {
+			flush();
+		}
+	}
+
+//---  Getter Methods   -----------------------------------------------------------------------
+
+	/**
+	 * Getter method to query how many writes are waiting to be committed.
+	 *
+	 * @return - Returns an int value representing the number of waiting writes
+	 */
+
+	synchronized int getPendingCount() {
+		return pending.size();
+	}
+
+//---  Helper Methods   -----------------------------------------------------------------------
+
+	private void merge(PendingWrite write) {
+		if(write.isDelete()) {
+			pending.values().removeIf(waiting -> write.covers(waiting));
+		}
+		pending.put(write.getIdentity(), write);
+	}
+
+	private void schedule(int wait) {
+		if(scheduled != null) {
+			scheduled.cancel(false);
+			scheduled = null;
+		}
+		if(timer.isShutdown()) {
+			return;
+		}
+		scheduled = timer.schedule(() -> {
+			flush();
+		}, wait, TimeUnit.MILLISECONDS);
+	}
+
+}
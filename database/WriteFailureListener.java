@@ -0,0 +1,29 @@
+package database;
+
+/**
+ * This interface describes an object that is told when a write submitted to the Database with
+ * submitBatch could not be committed. Such writes are committed later, on another thread, so
+ * the submitter cannot learn of the failure from submitBatch itself.
+ *
+ * A failed write is retried a few times before it is given up on; the listener hears of each
+ * failure, and whether the write has been dropped.
+ *
+ * @author Regan Lynch
+ *
+ */
+
+public interface WriteFailureListener {
+
+	/**
+	 * This method is called, on the thread that attempted the commit, for each submitted write
+	 * that failed to commit.
+	 *
+	 * @param table - String object representing the table the write was to
+	 * @param fields - String[] containing the column headers of the write's values (spaces as underscores)
+	 * @param values - String[] containing the values the write would have stored or matched on
+	 * @param dropped - boolean value; true if the write has been given up on, false if it will be retried
+	 */
+
+	public void writeFailed(String table, String[] fields, String[] values, boolean dropped);
+
+}
@@ -0,0 +1,86 @@
+package intermediary;
+
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * This class holds the queue of CONTROL commands posted by the View and runs the thread
+ * that hands them, one at a time and in the order they were posted, to the Intermediary's
+ * dispatch() method.
+ * 
+ * The thread sleeps on the queue until a command arrives, so nothing runs while the user
+ * is idle and a click is acted on as soon as it is posted.
+ * 
+ * @author Mac Clevinger
+ *
+ */
+
+public class CommandDispatcher implements Runnable{
+
+//---  Instance Variables   -------------------------------------------------------------------
+
+	/** Intermediary object designating the object that this CommandDispatcher is associated to; will call dispatch() on this object*/
+	private Intermediary parent;
+	/** LinkedBlockingQueue<<r>String> object containing the CONTROL commands posted but not yet dispatched*/
+	private LinkedBlockingQueue<String> commands;
+	/** Thread object that drains the queue of commands*/
+	private Thread thread;
+	
+//---  Constructors   -------------------------------------------------------------------------
+	
+	/**
+	 * Constructor for objects of the CommandDispatcher type that assigns the provided
+	 * Intermediary object as the object to perform the dispatch() method.
+	 * 
+	 * @param par - Intermediary object that this CommandDispatcher object will tell to call dispatch().
+	 */
+	
+	public CommandDispatcher(Intermediary par){
+		parent = par;
+		commands = new LinkedBlockingQueue<String>();
+		thread = new Thread(this, "Intermediary-Dispatcher");
+	}
+	
+//---  Operations   ---------------------------------------------------------------------------
+	
+	/**
+	 * This method starts the thread that dispatches posted commands.
+	 */
+	
+	public void start() {
+		thread.start();
+	}
+	
+	/**
+	 * This method adds the provided command to the end of the queue; it will be dispatched
+	 * after every command posted before it. Null commands are ignored.
+	 * 
+	 * @param command - String object representing one of the Intermediary's CONTROL values
+	 */
+	
+	public void post(String command) {
+		if(command != null) {
+			commands.add(command);
+		}
+	}
+	
+	@Override
+	public void run(){
+		while(true) {
+			String next;
+			try {
+				next = commands.take();
+			}
+			catch(InterruptedException e) {
+				return;
+			}
+			try {
+				parent.dispatch(next);
+			}
+			catch(RuntimeException e) {
+				e.printStackTrace();
+				System.out.println("Error in dispatching command: " + next);
+			}
+		}
+	}
+	
+}
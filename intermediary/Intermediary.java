@@ -2,20 +2,32 @@ package intermediary;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import controller.PasswordHasher;
 import database.Database;
 import database.TableType;
 import input.Communication;
+import model.trip.ScheduleOrder;
 import model.trip.Trip;
+import model.trip.schedule.DisplayData;
+import model.trip.schedule.SchedulableType;
+import model.trip.schedule.ScheduledEntry;
 import model.user.User;
+import model.user.UserCache;
 import view.Display;
 import exceptions.BadTimeException;
 
 /**
  * This class serves as the link between the Model and the View, facilitating the movement
- * of information back and forth via user Input (using the static Communication object and
- * the clock() method) or telling the Display to construct visible objects from Model info
+ * of information back and forth via user Input (commands posted with post() and handled by
+ * the dispatch() method, values stored in the static Communication object) or telling the Display to construct visible objects from Model info
  * dumps.
  * 
  * As little work as possible should be done here, this is the fulcrum point where info is
@@ -31,11 +43,11 @@ import exceptions.BadTimeException;
 public class Intermediary {
 	
 //---  Constant Values   ----------------------------------------------------------------------
-	/** Constant value representing the speed at which the program responds to user input (call rate of clock())*/
-	private final static int REFRESH_RATE = 1000/60;
+	/** Constant value representing how many database-bound actions may run at once (matches the Database's connection pool)*/
+	private final static int WORKER_COUNT = 4;
+	/** Constant value representing how many database-bound actions may wait for a worker before the dispatcher runs them itself*/
+	private final static int WORKER_BACKLOG = 16;
 	//-- Control  -------------------------------------------
-	public final static String CONTROL = "Control";
-	public final static String CONTROL_NULL = null;
 	public final static String CONTROL_INITIAL_SCREEN = "start_screen";
 	public final static String CONTROL_LOGIN_SCREEN = "log_in";
 	public final static String CONTROL_USER_CREATE = "create_user";
@@ -76,11 +88,16 @@ public class Intermediary {
 	public final static String CURR_SCHEDULABLE_TYPE = "current_sched";
 	public final static String CURR_SCHEDULABLE_TITLES = "schedulable_titles";
 	public final static String CURR_SCHED = "-1";
+	public final static String CURR_SCHEDULABLE_PAGE = "schedulable_page";
 	public final static String CURR_DELETE_SCHED = "an_undesirable_appointment";
 	
 	private final static String SCHEDULABLE_META_FIELD_LABEL = "metaField";
 	private final static String[] SCHEDULABLE_META_FIELD_TYPES = new String[] {"sString", "sString", "sString", "sString", "sString", "sString", "sString", "sString", "sString"};
 	private final static String[] SCHEDULABLE_META_FIELD_TITLES = new String[] {"fieldTitle","title1","title2","title3","title4","title5","title6","title7","title8"};
+	/** Schedulable Types are keyed by their header (fieldTitle) in the metaField table*/
+	private final static int SCHEDULABLE_META_FIELD_KEY_LENGTH = 1;
+	/** Schedulables are keyed by username, tripTitle and their first field (Name) in their Schedulable Type's table*/
+	private final static int SCHEDULABLE_KEY_LENGTH = SchedulableType.KEY_LENGTH;
 
 	private final static String[] DEFAULT_SCHEDULABLE_ACCOMMODATION_TITLES = new String[]  {"Accommodation","username", "tripTitle", "sString_Name", "sString_Address", "Date_Start Date", "Date_End Date", "lString_Description"};
 	private final static String[] DEFAULT_SCHEDULABLE_RESERVATION_TITLES = new String[]    {"Reservation","username", "tripTitle", "sString_Name", "sString_Address", "Date_Start Date", "Date_End Date", "lString_Description"};
@@ -95,41 +112,60 @@ public class Intermediary {
 	
 	
 //---  Instance Variables   -------------------------------------------------------------------
-	/** The Timer object periodically calls the clock() method of this Intermediary object*/
-	private Timer timer;
+	/** The CommandDispatcher object calls the dispatch() method of this Intermediary object for each posted command*/
+	private static CommandDispatcher dispatcher;
+	/** The ThreadPoolExecutor object runs database-bound actions off of the dispatcher's thread*/
+	private ThreadPoolExecutor workers;
+	/** The HashMap<<r>User, CompletableFuture<<r>String>> object leads from each User to the last action queued for them, so their actions run in order*/
+	private HashMap<User, CompletableFuture<String>> queues;
 	/** The Display object is the contact point this Intermediary object has to the View for Input/Output*/
 	private Display display;
 	/** The User object is the contact point this Intermediary object has to the Model for data access/manipulation*/
-	private static User user;
+	private static volatile User user;
 //---  Constructors   -------------------------------------------------------------------------
 	/**
 	 * Constructor for objects of the Intermediary type: sets the size of the Display and
-	 * starts the Timer for having the clock() method be called repeatedly. 
+	 * starts the CommandDispatcher that calls the dispatch() method for each posted command.
 	 */
 	public Intermediary() {
+		dispatcher = new CommandDispatcher(this);
+		workers = new ThreadPoolExecutor(WORKER_COUNT, WORKER_COUNT, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(WORKER_BACKLOG), runnable -> {
+			Thread worker = new Thread(runnable, "Intermediary-Worker");
+			worker.setDaemon(true);
+			return worker;
+		}, new ThreadPoolExecutor.CallerRunsPolicy());
+		queues = new HashMap<User, CompletableFuture<String>>();
 		display = new Display(1000, 600, this);
 //		display = new Display(2560, 1080, this);
-		timer = new Timer();
-		timer.schedule(new TimerRepeat(this), 0, REFRESH_RATE);
+		dispatcher.start();
 	}
 //---------------------------------------------------------------------------------------------	
 //	   									OPERATIONS		
 //---------------------------------------------------------------------------------------------		
 	/**
-	 * This method represents the control structure of the program, constantly querying the Communication
-	 * singleton object for updates as to what behaviors should occur in the Display and Model objects. 
+	 * This method queues the provided CONTROL command to be dispatched after every command posted
+	 * before it; the View calls this in response to user input, having first stored any values the
+	 * command needs in the Communication object. Null commands are ignored.
 	 * 
-	 * Based on the values assigned to the CONTROL key in the Communication object's HashMap<<r>String, String>,
-	 * different methods in the Intermediary class are called to perform certain actions (ideally queries and
-	 * commands are sent along to the Display and Model, but some things are convenient to do here.)
+	 * @param command - String object representing one of the CONTROL values of this class
+	 */
+	public static void post(String command) {
+		dispatcher.post(command);
+	}
+//---------------------------------------------------------------------	
+	/**
+	 * This method represents the control structure of the program, deciding from each posted command
+	 * what behaviors should occur in the Display and Model objects.
 	 * 
-	 * Uses the TimerRepeat class to have a Timer repeatedly order this class to call clock().
+	 * Based on the CONTROL value provided, different methods in the Intermediary class are called to
+	 * perform certain actions (ideally queries and commands are sent along to the Display and Model,
+	 * but some things are convenient to do here.)
+	 * 
+	 * Called by the CommandDispatcher's thread, once per posted command and in the order they were posted.
+	 * 
+	 * @param happen - String object representing the CONTROL value that was posted
 	 */
-	public void clock() {
-		String happen = Communication.get(CONTROL);
-		Communication.set(CONTROL, CONTROL_NULL);
-		if(happen == null)
-			return;
+	void dispatch(String happen) {
 		switch(happen) {
 			case CONTROL_ATTEMPT_LOGIN:				//Attempts to log-in with the provided information 
 				attemptLogin(); break;
@@ -175,10 +211,12 @@ public class Intermediary {
 	 * This method handles the dynamic Schedulable Types by adding the default types
 	 * if they are not yet present to the metaFields table, from which all added
 	 * Schedulable Types are pulled from the database, made available for usage,
-	 *  and given to the User for interpreting/making Schedulable objects.
+	 *  and given to the provided User for interpreting/making Schedulable objects.
+	 * 
+	 * @param owner - User object to give the Schedulable Types to; not yet the current user, so another login cannot receive them
 	 */
-	public void initializeSchedulableTypes() {
-		Database.includeTableType(SCHEDULABLE_META_FIELD_LABEL, SCHEDULABLE_META_FIELD_TITLES, SCHEDULABLE_META_FIELD_TYPES);
+	public void initializeSchedulableTypes(User owner) {
+		Database.includeTableType(SCHEDULABLE_META_FIELD_LABEL, SCHEDULABLE_META_FIELD_TITLES, SCHEDULABLE_META_FIELD_TYPES, SCHEDULABLE_META_FIELD_KEY_LENGTH);
 		Database.addEntry(SCHEDULABLE_META_FIELD_LABEL, SCHEDULABLE_META_FIELD_TITLES, DEFAULT_SCHEDULABLE_ACCOMMODATION_TITLES);
 		Database.addEntry(SCHEDULABLE_META_FIELD_LABEL, SCHEDULABLE_META_FIELD_TITLES, DEFAULT_SCHEDULABLE_RESERVATION_TITLES);
 		Database.addEntry(SCHEDULABLE_META_FIELD_LABEL, SCHEDULABLE_META_FIELD_TITLES, DEFAULT_SCHEDULABLE_TRANSPORTATION_TITLES);
@@ -204,8 +242,8 @@ public class Intermediary {
 				}
 			}
 
-			Database.includeTableType(head, Arrays.copyOfRange(titles, 0, titles.length - count), Arrays.copyOfRange(types, 0, types.length - count));
-			user.addSchedulableType(head, Arrays.copyOfRange(titles, 2, titles.length - count), Arrays.copyOfRange(types, 2, types.length - count));
+			Database.includeTableType(head, Arrays.copyOfRange(titles, 0, titles.length - count), Arrays.copyOfRange(types, 0, types.length - count), SCHEDULABLE_KEY_LENGTH);
+			owner.addSchedulableType(head, Arrays.copyOfRange(titles, 2, titles.length - count), Arrays.copyOfRange(types, 2, types.length - count));
 		}
 	}
 	
@@ -214,15 +252,23 @@ public class Intermediary {
 	 * 	adds a schedulable arctype to the user
 	 */
 	public void addSchedulableArcType() {
+		String header = NEW_SCHED_ARC_HEADER;
+		String[] fields = NEW_SCHED_ARC_FIELDS;
+		String[] types = NEW_SCHED_ARC_TYPES;
+		NEW_SCHED_ARC_HEADER = "";
+		NEW_SCHED_ARC_FIELDS = DEFAULT_NEW_SCHED_ARC_FIELDS;
+		NEW_SCHED_ARC_TYPES = DEFAULT_NEW_SCHED_ARC_TYPES;
 		//make sure a header was created first
-		
-		if(!NEW_SCHED_ARC_HEADER.equals("") && NEW_SCHED_ARC_HEADER != null) {
-			
-			String[] new_titles = new String[NEW_SCHED_ARC_FIELDS.length + 3];
-			String[] new_fields = new String[NEW_SCHED_ARC_FIELDS.length + 2];
-			String[] new_types = new String[NEW_SCHED_ARC_FIELDS.length + 2];
+		if(header == null || header.equals("")) {
+			post(CONTROL_MAIN_SCREEN);
+			return;
+		}
+		background(user, owner -> {
+			String[] new_titles = new String[fields.length + 3];
+			String[] new_fields = new String[fields.length + 2];
+			String[] new_types = new String[fields.length + 2];
 			
-			new_titles[0] = NEW_SCHED_ARC_HEADER;
+			new_titles[0] = header;
 			new_titles[1] = "username";
 			new_titles[2] = "tripTitle";
 			
@@ -232,51 +278,56 @@ public class Intermediary {
 			new_types[0] = "sString";
 			new_types[1] = "sString";
 			
-			for(int i = 0; i < NEW_SCHED_ARC_FIELDS.length; i++) {
-				new_titles[i + 3] = NEW_SCHED_ARC_TYPES[i] + "_" + NEW_SCHED_ARC_FIELDS[i];
-				new_fields[i + 2] = NEW_SCHED_ARC_FIELDS[i];
-				new_types[i + 2] = NEW_SCHED_ARC_TYPES[i];
+			for(int i = 0; i < fields.length; i++) {
+				new_titles[i + 3] = types[i] + "_" + fields[i];
+				new_fields[i + 2] = fields[i];
+				new_types[i + 2] = types[i];
 			}
 			
 			Database.addEntry(SCHEDULABLE_META_FIELD_LABEL, SCHEDULABLE_META_FIELD_TITLES, new_titles);
-			Database.includeTableType(NEW_SCHED_ARC_HEADER, new_fields, new_types);
-			user.addSchedulableType(NEW_SCHED_ARC_HEADER, NEW_SCHED_ARC_FIELDS, NEW_SCHED_ARC_TYPES);
-			
-			Database.addEntry(TableType.shed_arc_types, new String[] {user.getUsername(), NEW_SCHED_ARC_HEADER});		//keeps track of which user has what schedulable arctype
+			Database.includeTableType(header, new_fields, new_types, SCHEDULABLE_KEY_LENGTH);
+			owner.addSchedulableType(header, fields, types);
 			
-		}
-		NEW_SCHED_ARC_HEADER = "";
-		NEW_SCHED_ARC_FIELDS = DEFAULT_NEW_SCHED_ARC_FIELDS;
-		NEW_SCHED_ARC_TYPES = DEFAULT_NEW_SCHED_ARC_TYPES;
-		Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_MAIN_SCREEN);
-
+			Database.addEntry(TableType.shed_arc_types, new String[] {owner.getUsername(), header});		//keeps track of which user has what schedulable arctype
+			return CONTROL_MAIN_SCREEN;
+		});
 	}
 //---------------------------------------------------------------------		
 	/**
 	 * This method requests the information stored by the Display in Communication's LOGIN_USERNAME
 	 * and LOGIN_PASSWORD key-values, passing that information to the Database to ensure that
-	 * the username already exists and that the password is valid.
+	 * the username already exists and that the password is valid (one lookup for both). The check
+	 * runs on the PasswordHasher's threads, so a costly hash never holds up the dispatcher.
 	 * 
-	 * Errors are shown to the user if either input is invalid, otherwise the User object is initialized
-	 * and CONTROL is set to CONTROL_TRIP_SELECT.
+	 * Errors are shown to the user if either input is invalid, otherwise the User object is taken from
+	 * the UserCache if that user was recently active, or initialized from the Database (and cached) if
+	 * not; it is made the current user only once fully loaded, and CONTROL_TRIP_SELECT is posted.
 	 */
 	public void attemptLogin() {
 		String username = Communication.get(LOGIN_USERNAME);
 		String password = Communication.get(LOGIN_PASSWORD);
-		boolean validUsername = Database.checkUserExists(username);
-		if(!validUsername) {
-			errorReport("Invalid Username");
-			return;
-		}
-		boolean validPassword = Database.checkValidPassword(username, password);
-		if(!validPassword) {
-			errorReport("Invalid Password");
-			return;
-		}
-		user = new User(username, password);
-		initializeSchedulableTypes();
-		user.retrieveData();
-		Communication.set(CONTROL, CONTROL_TRIP_SELECT);
+		afterHashing(Database.checkLoginAsync(username, password), login -> {
+			if(login == Database.LOGIN_UNKNOWN_USER) {
+				errorReport("Invalid Username");
+				return null;
+			}
+			if(login != Database.LOGIN_VALID) {
+				errorReport("Invalid Password");
+				return null;
+			}
+			User cached = UserCache.get(username);
+			if(cached != null) {
+				user = cached;
+				return CONTROL_TRIP_SELECT;
+			}
+			//built locally and only then made current, so an overlapping login cannot be given its types or data
+			User loaded = new User(username, password);
+			initializeSchedulableTypes(loaded);
+			loaded.retrieveData();
+			UserCache.put(loaded);
+			user = loaded;
+			return CONTROL_TRIP_SELECT;
+		});
 	}
 //---------------------------------------------------------------------	
 	/**
@@ -284,12 +335,13 @@ public class Intermediary {
 	 * PASSWORD, DOB, FIRSTNAME, LASTNAME} for use in creating a new database entry for a new user
 	 * with that information.
 	 * 
-	 * Errors in data provision are reported to the user, otherwise the database checks if a user already
-	 * exists by that name. If no such name is used, a User object is created with that information,
-	 * its constructor communicating with the database for creating an entry.
+	 * Errors in data provision are reported to the user, otherwise the password is hashed on the
+	 * PasswordHasher's threads and the database checks if a user already exists by that name. If no
+	 * such name is used, a User object is created with that information, its constructor communicating
+	 * with the database for creating an entry.
 	 * 
-	 * The new User is then validated to ensure a username and password are present; if so, CONTROL is
-	 * set to CONTROL_TRIP_SELECT.
+	 * The new User is then validated to ensure a username and password are present; if so, it is
+	 * made the current user and CONTROL_TRIP_SELECT is posted.
 	 */
 	public void createNewUser() {
 		String username = Communication.get(CREATE_USER_USERNAME);
@@ -302,20 +354,22 @@ public class Intermediary {
 		if(newUserDataChecker(firstname, "Firstname"))  return;
 		if(newUserDataChecker(lastname, "Lastname"))  return;
 		
-		boolean checkExists = Database.checkUserExists(username);
-		if(!checkExists) {
-			user = new User(firstname, lastname, username, password);
-			initializeSchedulableTypes();
-			if(user.validate()) {
-				Communication.set(CONTROL, CONTROL_TRIP_SELECT);
+		afterHashing(PasswordHasher.createAsync(password), hash -> {
+			boolean checkExists = Database.checkUserExists(username);
+			if(checkExists) {
+				errorReport("Username already in use");
+				return null;
 			}
-			else {
+			User created = new User(firstname, lastname, username, password, hash);
+			initializeSchedulableTypes(created);
+			if(!created.validate()) {
 				errorReport("Failure to validate user");
+				return null;
 			}
-		}
-		else {
-			errorReport("Username already in use");
-		}
+			UserCache.put(created);
+			user = created;
+			return CONTROL_TRIP_SELECT;
+		});
 	}
 //---------------------------------------------------------------------	
 	/**
@@ -331,16 +385,16 @@ public class Intermediary {
 		
 		if(dest.equals("") || descr.equals("")){
 			errorReport("Please provide data to each field.");
+			return;
 		}
-		else {
-			boolean result = user.makeTrip(title, dest, descr, beginStr, endStr);
+		background(user, owner -> {
+			boolean result = owner.makeTrip(title, dest, descr, beginStr, endStr);
 			if(!result) {
 				errorReport("Error during Trip creation; extant Trip name reused or Date format invalid");
+				return null;
 			}
-			else {
-				Communication.set(CONTROL, CONTROL_TRIP_SELECT);
-			}
-		}
+			return CONTROL_TRIP_SELECT;
+		});
 	}
 //---------------------------------------------------------------------	
 	/**
@@ -352,40 +406,43 @@ public class Intermediary {
 	 */
 	public void addSchedulable()
 	{
+		String trip = Communication.get(CURR_TRIP);
 		String header = Communication.get(CURR_SCHEDULABLE_TYPE);
-		String[] titles = user.getSchedulableTypeTitles(header);
-		
-		String[] data = new String[titles.length];
-		for(int i = 0; i < data.length; i++) {
-			data[i] = Communication.get(header + "_" + titles[i]);
-		}
-		try {
-			user.addSchedulableItem(Communication.get(CURR_TRIP), header, data);
-			Communication.set(CONTROL, CONTROL_SCHEDULABLE_SELECT);
-		}catch (BadTimeException e)
-		{
-			errorReport("These fields don't make sense... Let's try that last one again");
-		}
+		String[] data = getSchedulableInput(header);
+		background(user, owner -> saveSchedulable(owner, trip, header, data));
 	}
 	
 //---------------------------------------------------------------------	
 	public void deleteSched()
 	{
-		//System.out.println("\n \n \n deleting in inter");
-		user.deleteSchedulable(Communication.get(CURR_TRIP), Communication.get(CURR_DELETE_SCHED), Communication.get(CURR_SCHEDULABLE_TYPE));
-		goToSchedulableSelect();
+		String trip = Communication.get(CURR_TRIP);
+		String sched = Communication.get(CURR_DELETE_SCHED);
+		String header = Communication.get(CURR_SCHEDULABLE_TYPE);
+		background(user, owner -> {
+			owner.deleteSchedulable(trip, sched, header);
+			return CONTROL_SCHEDULABLE_SELECT;
+		});
 	}
 //---------------------------------------------------------------------	
 	public void replaceSched()
 	{
-		user.deleteSchedulable(Communication.get(CURR_TRIP), Communication.get(CURR_DELETE_SCHED), Communication.get(CURR_SCHEDULABLE_TYPE));
-		addSchedulable();
+		String trip = Communication.get(CURR_TRIP);
+		String sched = Communication.get(CURR_DELETE_SCHED);
+		String header = Communication.get(CURR_SCHEDULABLE_TYPE);
+		String[] data = getSchedulableInput(header);
+		background(user, owner -> {
+			owner.deleteSchedulable(trip, sched, header);
+			return saveSchedulable(owner, trip, header, data);
+		});
 	}
 //---------------------------------------------------------------------		
 	public void deleteTrip()
 	{
-		user.deleteTrip(Communication.get(CURR_TRIP));
-		goToTripSelect();
+		String trip = Communication.get(CURR_TRIP);
+		background(user, owner -> {
+			owner.deleteTrip(trip);
+			return CONTROL_TRIP_SELECT;
+		});
 	}		
 //--- Getter Methods --------------------------------------------------------------------------
 
@@ -402,8 +459,8 @@ public class Intermediary {
 	 * Getter method to retrieve the titles of each Schedulable Type for which the user's
 	 * current trip has more than 0 Schedulable Objects associated to it.
 	 * 
-	 * Calls on the user to get all Schedulable Objects associated to that Schedulable Type,
-	 * and then checks if the returned ArrayList is empty or not.
+	 * Calls on the user to count the Schedulable Objects associated to that Schedulable Type,
+	 * and then checks if there are any.
 	 * 
 	 * @return - Returns an ArrayList<<r>String> object containing all Schedulable Type names for which the user's trip has Schedulable Objects.
 	 */
@@ -411,7 +468,7 @@ public class Intermediary {
 		ArrayList<String> out = user.getSchedulableTypes();
 		ArrayList<String> pass = new ArrayList<String>();
 		for(int i = 0; i < out.size(); i++) {
-			if(user.getSchedulables(Communication.get(CURR_TRIP), out.get(i)).size() != 0) {
+			if(user.getSchedulableCount(Communication.get(CURR_TRIP), out.get(i)) != 0) {
 				pass.add(out.get(i));
 			}
 		}
@@ -448,8 +505,15 @@ public class Intermediary {
 	/**
 	 * This method navigates the Display to the logIn screen by hiding the current
 	 * panels in the WindowFrame and calling display.logInScreen(). 
+	 * 
+	 * As this is also how the user logs out, any of their writes still waiting in the
+	 * Database's write-behind queue are committed, once their queued actions have run.
 	 */
 	private void goToLogin() {
+		background(user, owner -> {
+			Database.flushWrites();
+			return null;
+		});
 		display.resetView();
 		display.logInScreen();
 	}
@@ -494,11 +558,24 @@ public class Intermediary {
 	/**
 	 * This method navigates the Display to the schedulableSelect screen by hiding the
 	 * current panels in the WindowFrame and calling display.schedulableSelectScreen(),
-	 * passing to it the Strings of the current trip and schedulable type.  
+	 * passing to it the page of the current trip's schedulables of the current type stored at
+	 * CURR_SCHEDULABLE_PAGE (moved back to the last page if there are no longer that many).
 	 */
 	public void goToSchedulableSelect() {
+		String trip = Communication.get(CURR_TRIP);
+		String header = Communication.get(CURR_SCHEDULABLE_TYPE);
+		int total = user.getSchedulableCount(trip, header);
+		int page = 0;
+		try {
+			page = Integer.parseInt(Communication.get(CURR_SCHEDULABLE_PAGE));
+		}
+		catch(NumberFormatException e) {
+			page = 0;
+		}
+		page = Math.max(0, Math.min(page, (total - 1) / Display.MAX_VIS_LIST_ITEMS));
+		Communication.set(CURR_SCHEDULABLE_PAGE, Integer.toString(page));
 		display.resetView();
-		display.schedulableSelectScreen(user.getDisplaySchedulablesData(Communication.get(CURR_TRIP), Communication.get(CURR_SCHEDULABLE_TYPE)), 0);
+		display.schedulableSelectScreen(user.getDisplaySchedulablesPage(trip, header, ScheduleOrder.START, page * Display.MAX_VIS_LIST_ITEMS, Display.MAX_VIS_LIST_ITEMS), total, page);
 	}
 //---------------------------------------------------------------------		
 	/**
@@ -517,9 +594,14 @@ public class Intermediary {
 	 * method to go to a pre-existing schedulable and either edit or delete it - still a work in progress
 	 */
 	public void goToSchedScreen() {
-		// TODO: line below is inefficient, refactor if at all possible
 		setCurrSchedulableTitles();
-		display.schedScreen(user.getCreateSchedulablesData(Communication.get(CURR_SCHEDULABLE_TYPE)), user.getDisplaySchedulablesData(Communication.get(CURR_TRIP), Communication.get(CURR_SCHEDULABLE_TYPE)), Integer.valueOf(Communication.get(CURR_SCHED)));
+		String header = Communication.get(CURR_SCHEDULABLE_TYPE);
+		ArrayList<DisplayData> found = user.getDisplaySchedulablesPage(Communication.get(CURR_TRIP), header, ScheduleOrder.START, Integer.valueOf(Communication.get(CURR_SCHED)), 1);
+		if(found.isEmpty()) {
+			goToSchedulableSelect();
+			return;
+		}
+		display.schedScreen(user.getCreateSchedulablesData(header), found.get(0));
 	}
 //---------------------------------------------------------------------------------------------	
 //						             HELPER METHODS	
@@ -533,14 +615,138 @@ public class Intermediary {
 	private void errorReport(String displayError) {
 		display.errorBox(displayError);
 	}
+//---------------------------------------------------------------------	
+	/**
+	 * This method runs the provided database-bound action on one of the worker threads so that
+	 * the dispatcher can keep handling input meanwhile; when the action completes, the CONTROL
+	 * value it returns (if not null) is posted so that the resulting screen change is dispatched
+	 * in turn.
+	 * 
+	 * Actions should read anything they need from Communication before being handed over, as
+	 * later input may replace those values while the action waits or runs.
+	 * 
+	 * @param action - Supplier<<r>String> object performing the action and returning the CONTROL value to post, or null
+	 */
+	private void background(Supplier<String> action) {
+		CompletableFuture.supplyAsync(action, workers).whenComplete((next, error) -> finish(next, error));
+	}
+//---------------------------------------------------------------------	
+	/**
+	 * This method runs the provided action for the provided User as background() does, but only
+	 * once every action queued earlier for that User has finished, so that one User's actions (such
+	 * as adding a Schedulable and then deleting it) always take effect in the order they were given.
+	 * Actions for different Users may still run at the same time.
+	 * 
+	 * The User is given as it was when the action was queued (callers pass the current user), so
+	 * an action queued before a logout or login still applies to the User it was meant for.
+	 * 
+	 * @param owner - User object the action is performed for
+	 * @param action - Function<<r>User, String> object performing the action for that User and returning the CONTROL value to post, or null
+	 */
+	private void background(User owner, Function<User, String> action) {
+		CompletableFuture<String> next;
+		synchronized(queues) {
+			CompletableFuture<String> last = queues.get(owner);
+			CompletableFuture<Object> after = last == null ? CompletableFuture.completedFuture(null) : last.handle((result, error) -> null);
+			next = after.thenApplyAsync(ignored -> action.apply(owner), workers);
+			queues.put(owner, next);
+		}
+		next.whenComplete((result, error) -> {
+			synchronized(queues) {
+				queues.remove(owner, next);
+			}
+			finish(result, error);
+		});
+	}
+//---------------------------------------------------------------------	
+	/**
+	 * This method posts the CONTROL value returned by a finished background action, or reports
+	 * an error to the user if the action failed.
+	 * 
+	 * @param next - String object representing the CONTROL value to post, or null
+	 * @param error - Throwable object thrown by the action, or null if it succeeded
+	 */
+	private void finish(String next, Throwable error) {
+		if(error != null) {
+			error.printStackTrace();
+			errorReport("Something went wrong, please try again");
+		}
+		else {
+			post(next);
+		}
+	}
+//---------------------------------------------------------------------	
+	/**
+	 * This method waits (without blocking) for the provided hashing task from the PasswordHasher and
+	 * then runs the provided action with its result as background() does; if the PasswordHasher was
+	 * too busy to take the task, the user is asked to try again instead.
+	 * 
+	 * @param hashing - CompletableFuture<<r>T> object completed by the PasswordHasher with the hashing result
+	 * @param action - Function<<r>T, String> object performing the action with that result and returning the CONTROL value to post, or null
+	 */
+	private <T> void afterHashing(CompletableFuture<T> hashing, Function<T, String> action) {
+		hashing.whenComplete((result, error) -> {
+			if(error == null) {
+				background(() -> action.apply(result));
+			}
+			else if(PasswordHasher.isBusy(error)) {
+				errorReport("Too many logins at once, please try again");
+			}
+			else {
+				error.printStackTrace();
+				errorReport("Something went wrong, please try again");
+			}
+		});
+	}
+//---------------------------------------------------------------------	
+	/**
+	 * This method gathers the values entered by the user for each field of the defined Schedulable Type,
+	 * as stored by the Display in Communication.
+	 * 
+	 * @param header - String object representing the Schedulable Type being entered
+	 * @return - Returns a String[] containing the entered values in the order of the Schedulable Type's titles
+	 */
+	private String[] getSchedulableInput(String header) {
+		String[] titles = user.getSchedulableTypeTitles(header);
+		String[] data = new String[titles.length];
+		for(int i = 0; i < data.length; i++) {
+			data[i] = Communication.get(header + "_" + titles[i]);
+		}
+		return data;
+	}
+//---------------------------------------------------------------------	
+	/**
+	 * This method adds a new Schedulable Object built from the provided data to the defined Trip,
+	 * reporting an error to the user if its dates are not viable, or warning them if it overlaps
+	 * Schedulable Objects already in the Trip.
+	 * 
+	 * @param owner - User object whose Trip the Schedulable Object is added to
+	 * @param trip - String object representing the Trip to add the Schedulable Object to
+	 * @param header - String object representing the Schedulable Type of the new Schedulable Object
+	 * @param data - String[] containing the values of the new Schedulable Object
+	 * @return - Returns a String object representing the CONTROL value to post next, or null if it could not be added
+	 */
+	private String saveSchedulable(User owner, String trip, String header, String[] data) {
+		try {
+			ArrayList<ScheduledEntry> conflicts = owner.addSchedulableItem(trip, header, data);
+			if(!conflicts.isEmpty()) {
+				String names = "";
+				for(ScheduledEntry entry : conflicts) {
+					names += (names.isEmpty() ? "" : ", ") + entry.getItem().getDisplayData(null).getData("Name");
+				}
+				errorReport("Saved, but this overlaps with: " + names);
+			}
+			return CONTROL_SCHEDULABLE_SELECT;
+		}catch (BadTimeException e)
+		{
+			errorReport("These fields don't make sense... Let's try that last one again");
+			return null;
+		}
+	}
 //---------------------------------------------------------------------	
 	private void setCurrSchedulableTitles() {
 		display.resetView();
-		String[] titles = user.getSchedulableTypeTitles(Communication.get(CURR_SCHEDULABLE_TYPE));
-		String out = "";
-		for(int i = 0; i < titles.length; i++)
-			out += titles[i] + (i+1 < titles.length ? "   " : "");	//TODO Constant value for the splitter here
-		Communication.set(CURR_SCHEDULABLE_TITLES, out);
+		Communication.set(CURR_SCHEDULABLE_TITLES, user.getSchedulableTypeTitleList(Communication.get(CURR_SCHEDULABLE_TYPE)));
 	}
 //---------------------------------------------------------------------	
 	private boolean newUserDataChecker(String dataVal, String designator) {
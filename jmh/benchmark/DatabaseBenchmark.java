@@ -0,0 +1,143 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import database.Database;
+import database.TableType;
+
+/**
+ * These benchmarks measure the Database's hot paths against a temporary SQLite file: searching
+ * a trips table of SEARCH_ROWS rows by its key, adding a row, and deleting a row. Writes are
+ * committed as they are made (panyk.db.writeDelay is 0), so each add and delete includes its
+ * commit. The temporary directory is set as panyk.db.directory before the Database is first
+ * used, and deleted when the run ends.
+ * 
+ * Rows added are deleted after each iteration, so the table does not grow from one iteration
+ * to the next; each row deleted is added just before that invocation, outside of its timing.
+ * 
+ * Run with gradle jmh; the gc profiler reports what each allocates per operation.
+ * 
+ * @author Mac Clevinger
+ * 
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatabaseBenchmark {
+	
+//---  Constant Values   ----------------------------------------------------------------------
+	
+	/** int value representing how many rows are in the trips table while searches are measured*/
+	private final static int SEARCH_ROWS = 1000;
+	/** String object representing the username the searched rows are stored under*/
+	private final static String USERNAME = "benchmark";
+	/** String object representing the username rows added by the benchmarks are stored under*/
+	private final static String ADDED = "benchmark-added";
+	
+//---  Instance Variables   -------------------------------------------------------------------
+	
+	/** File object representing the temporary directory holding the database file*/
+	private File directory;
+	/** String object representing the encoded start date of every row*/
+	private String start;
+	/** String object representing the encoded end date of every row*/
+	private String end;
+	/** int value representing the next row searched for, or the next title added*/
+	private int next;
+	
+//---  Setup   --------------------------------------------------------------------------------
+	
+	@Setup(Level.Trial)
+	public void open() throws IOException {
+		directory = Files.createTempDirectory("panyk-benchmark").toFile();
+		System.setProperty("panyk.db.directory", directory.getAbsolutePath());
+		System.setProperty("panyk.db.writeDelay", "0");
+		Database.initialize();
+		if(!Database.tableExists(TableType.trips.toString())) {
+			throw new IllegalStateException("no database available; is the SQLite driver on the classpath?");
+		}
+		start = TableType.encodeDate(LocalDate.of(2021, 6, 1));
+		end = TableType.encodeDate(LocalDate.of(2021, 6, 30));
+		for(int i = 0; i < SEARCH_ROWS; i++) {
+			Database.addEntry(TableType.trips, USERNAME, "seeded " + i, "somewhere", start, end, "a trip");
+		}
+	}
+	
+	@TearDown(Level.Iteration)
+	public void clearAdded() {
+		Database.deleteEntry(TableType.trips, ADDED, null, null, null, null, null);
+	}
+	
+	@TearDown(Level.Trial)
+	public void close() {
+		Database.close();
+		for(File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+	
+//---  Benchmarks   ---------------------------------------------------------------------------
+	
+	@Benchmark
+	public List<String[]> search() {
+		next = (next + 1) % SEARCH_ROWS;
+		return Database.search(TableType.trips, USERNAME, "seeded " + next, null, null, null, null);
+	}
+	
+	@Benchmark
+	public boolean addEntry() {
+		return Database.addEntry(TableType.trips, ADDED, "added " + next++, "somewhere", start, end, "a trip");
+	}
+	
+	@Benchmark
+	public boolean deleteEntry(Added row) {
+		return Database.deleteEntry(TableType.trips, ADDED, row.title, null, null, null, null);
+	}
+	
+//---  States   -------------------------------------------------------------------------------
+	
+	/**
+	 * This state adds the row that deleteEntry deletes, before each invocation; a commit takes
+	 * far longer than the timing overhead of a per-invocation setup.
+	 */
+	
+	@State(Scope.Thread)
+	public static class Added {
+		
+		/** String object representing the title of the row added for the next invocation*/
+		private String title;
+		/** int value representing how many rows this state has added*/
+		private int count;
+		
+		@Setup(Level.Invocation)
+		public void add(DatabaseBenchmark database) {
+			title = "deleted " + count++;
+			Database.addEntry(TableType.trips, ADDED, title, "somewhere", database.start, database.end, "a trip");
+		}
+		
+	}
+	
+}
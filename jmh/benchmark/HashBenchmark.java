@@ -0,0 +1,57 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import controller.Encryptor;
+
+/**
+ * These benchmarks measure Encryptor.createSaltedHash, both checking a password against a known
+ * salt (as a login does) and creating a new salted hash (as creating a user does).
+ * 
+ * Run with gradle jmh; the gc profiler reports what each allocates per operation.
+ * 
+ * @author Mac Clevinger
+ * 
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashBenchmark {
+	
+//---  Constant Values   ----------------------------------------------------------------------
+	
+	/** String object representing the salt passwords are checked against, as stored for a user*/
+	private final static String SALT = "0123456789ABCDEF0123";
+	
+//---  Instance Variables   -------------------------------------------------------------------
+	
+	/** String object representing the password hashed; a field so that it is not constant folded*/
+	private String password = "password";
+	
+//---  Benchmarks   ---------------------------------------------------------------------------
+	
+	@Benchmark
+	public String createSaltedHashWithSalt() {
+		return Encryptor.createSaltedHash(password, SALT);
+	}
+	
+	@Benchmark
+	public String[] createSaltedHash() {
+		return Encryptor.createSaltedHash(password);
+	}
+	
+}
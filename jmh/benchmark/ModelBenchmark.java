@@ -0,0 +1,102 @@
+package benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import database.TableType;
+import model.trip.Trip;
+import model.trip.schedule.DisplayData;
+import model.trip.schedule.SchedulableType;
+import model.trip.schedule.ScheduledItem;
+
+/**
+ * These benchmarks measure the model's hot paths: building a ScheduledItem from entered values
+ * and from a stored row, reading a value back through DisplayData.getData, and Trip.simplifyDate.
+ * None of them touch the Database.
+ * 
+ * Run with gradle jmh; the gc profiler reports what each allocates per operation.
+ * 
+ * @author Mac Clevinger
+ * 
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+	
+//---  Constant Values   ----------------------------------------------------------------------
+	
+	/** int value representing how many different dates simplifyDate is given in turn (a power of two)*/
+	private final static int DATES = 1024;
+	
+//---  Instance Variables   -------------------------------------------------------------------
+	
+	/** SchedulableType object every ScheduledItem is built as*/
+	private SchedulableType type;
+	/** String[] containing the values of a ScheduledItem as the user enters them*/
+	private String[] entered;
+	/** String[] containing the same values as a row stored in the Database, after its username and trip title*/
+	private String[] stored;
+	/** DisplayData object read from by displayDataGetData*/
+	private DisplayData display;
+	/** Trip object whose simplifyDate is measured*/
+	private Trip trip;
+	/** LocalDate[] containing the dates given to simplifyDate in turn*/
+	private LocalDate[] dates;
+	/** int value representing the next date given to simplifyDate*/
+	private int next;
+	
+//---  Setup   --------------------------------------------------------------------------------
+	
+	@Setup
+	public void setup() {
+		type = new SchedulableType("Accommodation", new String[] {"Name", "Address", "Start Date", "End Date", "Description"}, new String[] {"sString", "sString", "Date", "Date", "lString"});
+		entered = new String[] {"Hotel", "1 Main Street", "01/06/2021", "05/06/2021", "By the water"};
+		stored = new String[] {"benchmark", "trip", "Hotel", "1 Main Street", TableType.encodeDate(LocalDate.of(2021, 6, 1)), TableType.encodeDate(LocalDate.of(2021, 6, 5)), "By the water"};
+		display = new ScheduledItem(type, entered, 0).getDisplayData(null);
+		trip = new Trip("trip", "somewhere", "a trip", LocalDate.of(2021, 6, 1), LocalDate.of(2021, 6, 30));
+		dates = new LocalDate[DATES];
+		for(int i = 0; i < DATES; i++) {
+			dates[i] = LocalDate.of(2021, 6, 1).plusDays(i);
+		}
+	}
+	
+//---  Benchmarks   ---------------------------------------------------------------------------
+	
+	@Benchmark
+	public ScheduledItem newScheduledItem() {
+		return new ScheduledItem(type, entered, 0);
+	}
+	
+	@Benchmark
+	public ScheduledItem scheduledItemFromRow() {
+		return ScheduledItem.fromRow(type, stored, 2, 0);
+	}
+	
+	@Benchmark
+	public String displayDataGetData() {
+		return display.getData("Description");
+	}
+	
+	@Benchmark
+	public String tripSimplifyDate() {
+		next = (next + 1) & (DATES - 1);
+		return trip.simplifyDate(dates[next]);
+	}
+	
+}
@@ -0,0 +1,260 @@
+package model.trip;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import model.trip.schedule.ScheduledEntry;
+
+/**
+ * This class keeps a Trip's dated Schedulable objects, of every Schedulable Type, in an interval
+ * tree: a balanced (AVL) binary search tree ordered chronologically, where each node also records
+ * the latest end date found beneath it. Searches use that record to skip every subtree whose
+ * Schedulables have all finished before the range of interest, and the ordering to stop once
+ * the rest begin after it, so finding the k overlaps among n Schedulables costs about O(log n + k)
+ * rather than a scan of all of them.
+ * 
+ * Schedulables whose start or end date is missing are not indexed.
+ * 
+ * @author Mac Clevinger
+ * 
+ */
+
+class ScheduleIndex {
+	
+//---  Instance Variables   -------------------------------------------------------------------
+	
+	/** Node object at the root of the tree, or null if it is empty*/
+	private Node root;
+	/** HashMap<<r>String, HashMap<<r>String, Node>> object leading from each Schedulable Type, then name, to its node*/
+	private HashMap<String, HashMap<String, Node>> nodes;
+	
+//---  Constructors   -------------------------------------------------------------------------
+	
+	ScheduleIndex(){
+		nodes = new HashMap<String, HashMap<String, Node>>();
+	}
+	
+//---  Operations   ---------------------------------------------------------------------------
+	
+	/**
+	 * This method indexes the provided ScheduledEntry under its Schedulable Type and name,
+	 * replacing whatever was indexed there before.
+	 * 
+	 * @param type - String object representing the Schedulable Type of the entry
+	 * @param name - String object representing the name of the entry
+	 * @param entry - ScheduledEntry object to index; not indexed if either of its dates is null
+	 */
+	
+	void add(String type, String name, ScheduledEntry entry) {
+		remove(type, name);
+		if(entry.getStart() == null || entry.getEnd() == null) {
+			return;
+		}
+		Node in = new Node(type, name, entry);
+		root = insert(root, in);
+		nodes.computeIfAbsent(type, k -> new HashMap<String, Node>()).put(name, in);
+	}
+	
+	/**
+	 * This method removes the entry indexed under the provided Schedulable Type and name, if any.
+	 * 
+	 * @param type - String object representing the Schedulable Type of the entry
+	 * @param name - String object representing the name of the entry
+	 */
+	
+	void remove(String type, String name) {
+		HashMap<String, Node> group = nodes.get(type);
+		Node gone = group == null ? null : group.remove(name);
+		if(gone != null) {
+			root = delete(root, gone);
+		}
+	}
+	
+	/**
+	 * This method adds to the provided List every indexed entry whose dates overlap the range
+	 * from start to end (inclusive), in chronological order.
+	 * 
+	 * @param start - LocalDate object representing the first day of the range
+	 * @param end - LocalDate object representing the last day of the range
+	 * @param out - List<<r>ScheduledEntry> object to add the overlapping entries to
+	 */
+	
+	void overlapping(LocalDate start, LocalDate end, List<ScheduledEntry> out) {
+		overlapping(root, start, end, out);
+	}
+	
+	/**
+	 * This method finds the earliest indexed entry that starts on or after the provided date.
+	 * 
+	 * @param from - LocalDate object representing the earliest start date to accept
+	 * @return - Returns the ScheduledEntry found, or null if none start on or after that date
+	 */
+	
+	ScheduledEntry next(LocalDate from) {
+		ScheduledEntry out = null;
+		Node at = root;
+		while(at != null) {
+			if(at.entry.getStart().isBefore(from)) {
+				at = at.right;
+			}
+			else {
+				out = at.entry;
+				at = at.left;
+			}
+		}
+		return out;
+	}
+	
+	int size() {
+		int out = 0;
+		for(HashMap<String, Node> group : nodes.values()) {
+			out += group.size();
+		}
+		return out;
+	}
+	
+//---  Helper Methods   -----------------------------------------------------------------------
+	
+	private void overlapping(Node at, LocalDate start, LocalDate end, List<ScheduledEntry> out) {
+		if(at == null || at.maxEnd.isBefore(start)) {
+			return;
+		}
+		overlapping(at.left, start, end, out);
+		if(at.entry.getStart().isAfter(end)) {
+			return;
+		}
+		if(!at.entry.getEnd().isBefore(start)) {
+			out.add(at.entry);
+		}
+		overlapping(at.right, start, end, out);
+	}
+	
+	private Node insert(Node at, Node in) {
+		if(at == null) {
+			return in;
+		}
+		if(compare(in, at) < 0) {
+			at.left = insert(at.left, in);
+		}
+		else {
+			at.right = insert(at.right, in);
+		}
+		return balance(at);
+	}
+	
+	private Node delete(Node at, Node gone) {
+		if(at == null) {
+			return null;
+		}
+		int order = compare(gone, at);
+		if(order < 0) {
+			at.left = delete(at.left, gone);
+		}
+		else if(order > 0) {
+			at.right = delete(at.right, gone);
+		}
+		else {
+			if(at.left == null) {
+				return at.right;
+			}
+			if(at.right == null) {
+				return at.left;
+			}
+			Node heir = at.right;
+			while(heir.left != null) {
+				heir = heir.left;
+			}
+			heir.right = delete(at.right, heir);
+			heir.left = at.left;
+			at = heir;
+		}
+		return balance(at);
+	}
+	
+	private Node balance(Node at) {
+		update(at);
+		int lean = height(at.left) - height(at.right);
+		if(lean > 1) {
+			if(height(at.left.left) < height(at.left.right)) {
+				at.left = rotateLeft(at.left);
+			}
+			return rotateRight(at);
+		}
+		if(lean < -1) {
+			if(height(at.right.right) < height(at.right.left)) {
+				at.right = rotateRight(at.right);
+			}
+			return rotateLeft(at);
+		}
+		return at;
+	}
+	
+	private Node rotateLeft(Node at) {
+		Node up = at.right;
+		at.right = up.left;
+		up.left = at;
+		update(at);
+		update(up);
+		return up;
+	}
+	
+	private Node rotateRight(Node at) {
+		Node up = at.left;
+		at.left = up.right;
+		up.right = at;
+		update(at);
+		update(up);
+		return up;
+	}
+	
+	private void update(Node at) {
+		at.height = 1 + Math.max(height(at.left), height(at.right));
+		at.maxEnd = at.entry.getEnd();
+		if(at.left != null && at.left.maxEnd.isAfter(at.maxEnd)) {
+			at.maxEnd = at.left.maxEnd;
+		}
+		if(at.right != null && at.right.maxEnd.isAfter(at.maxEnd)) {
+			at.maxEnd = at.right.maxEnd;
+		}
+	}
+	
+	private int height(Node at) {
+		return at == null ? 0 : at.height;
+	}
+	
+	private int compare(Node a, Node b) {
+		int out = a.entry.compareTo(b.entry);
+		if(out == 0) {
+			out = a.type.compareTo(b.type);
+		}
+		return out != 0 ? out : a.name.compareTo(b.name);
+	}
+	
+//---  Node   ---------------------------------------------------------------------------------
+	
+	private static class Node {
+	
+		/** String object representing the Schedulable Type of this node's entry*/
+		final String type;
+		/** String object representing the name of this node's entry*/
+		final String name;
+		/** ScheduledEntry object held by this node*/
+		final ScheduledEntry entry;
+		/** LocalDate object representing the latest end date of any entry in this node's subtree*/
+		LocalDate maxEnd;
+		/** int value representing the height of this node's subtree*/
+		int height;
+		Node left;
+		Node right;
+	
+		Node(String typeIn, String nameIn, ScheduledEntry entryIn){
+			type = typeIn;
+			name = nameIn;
+			entry = entryIn;
+			maxEnd = entry.getEnd();
+			height = 1;
+		}
+	
+	}
+	
+}
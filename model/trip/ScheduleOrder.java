@@ -0,0 +1,42 @@
+package model.trip;
+
+import java.util.Comparator;
+import model.trip.schedule.ScheduledEntry;
+
+/**
+ * This enum describes each order in which a Trip can list the Schedulable objects of a
+ * Schedulable Type; a Trip keeps a sorted view for each, so that a page of either can be
+ * read without sorting.
+ * 
+ * Every order ends by comparing names, which are unique within a Schedulable Type, so no two
+ * Schedulable objects of the same type are ever ordered as equal.
+ * 
+ * @author Mac Clevinger
+ *
+ */
+
+public enum ScheduleOrder {
+
+	/** Earliest start date first (then earliest end date); undated Schedulable objects last*/
+	START(Comparator.<ScheduledEntry>naturalOrder()),
+	/** Alphabetical by name, ignoring case*/
+	NAME((a, b) -> String.CASE_INSENSITIVE_ORDER.compare(a.getName(), b.getName()));
+	
+//---  Instance Variables   -------------------------------------------------------------------
+	
+	/** Comparator<<r>ScheduledEntry> object defining this order*/
+	private final Comparator<ScheduledEntry> order;
+	
+//---  Constructors   -------------------------------------------------------------------------
+	
+	private ScheduleOrder(Comparator<ScheduledEntry> primary) {
+		order = primary.thenComparing(ScheduledEntry::getName);
+	}
+	
+//---  Getter Methods   -----------------------------------------------------------------------
+	
+	public Comparator<ScheduledEntry> getComparator() {
+		return order;
+	}
+	
+}
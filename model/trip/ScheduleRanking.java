@@ -0,0 +1,207 @@
+package model.trip;
+
+import java.util.Comparator;
+import java.util.List;
+import model.trip.schedule.ScheduledEntry;
+
+/**
+ * This class keeps the Schedulable objects of one Schedulable Type in a Trip sorted in one
+ * ScheduleOrder, as a balanced (AVL) binary search tree in which each node also counts the
+ * entries beneath it. Those counts let a page be found by position: the entries from index
+ * offset onwards are reached by one descent of the tree and then read in order, so a page of
+ * k entries out of n costs O(log n + k) and nothing else is copied or sorted.
+ * 
+ * It is kept up to date as Schedulable objects are added and removed, rather than rebuilt.
+ * 
+ * @author Mac Clevinger
+ *
+ */
+
+class ScheduleRanking {
+
+//---  Instance Variables   -------------------------------------------------------------------
+	
+	/** Comparator<<r>ScheduledEntry> object defining the order entries are kept in*/
+	private Comparator<ScheduledEntry> order;
+	/** Node object at the root of the tree, or null if it is empty*/
+	private Node root;
+	
+//---  Constructors   -------------------------------------------------------------------------
+	
+	/**
+	 * Constructor for objects of the ScheduleRanking type that will keep entries in the provided order.
+	 * 
+	 * @param in - ScheduleOrder object defining the order entries are kept in
+	 */
+	
+	ScheduleRanking(ScheduleOrder in){
+		order = in.getComparator();
+	}
+	
+//---  Operations   ---------------------------------------------------------------------------
+	
+	void add(ScheduledEntry entry) {
+		root = insert(root, entry);
+	}
+	
+	/**
+	 * This method removes the provided entry, which must be the same (or order the same as) one
+	 * that was added; nothing happens if it is not present.
+	 * 
+	 * @param entry - ScheduledEntry object to remove
+	 */
+	
+	void remove(ScheduledEntry entry) {
+		root = delete(root, entry);
+	}
+	
+	/**
+	 * This method adds to the provided List up to count entries, in order, beginning with the
+	 * entry at index offset.
+	 * 
+	 * @param offset - int value representing the index of the first entry to add
+	 * @param count - int value representing the most entries to add
+	 * @param out - List<<r>ScheduledEntry> object to add the entries to
+	 */
+	
+	void page(int offset, int count, List<ScheduledEntry> out) {
+		page(root, Math.max(offset, 0), out.size() + count, out);
+	}
+	
+	int size() {
+		return size(root);
+	}
+	
+//---  Helper Methods   -----------------------------------------------------------------------
+	
+	private void page(Node at, int offset, int limit, List<ScheduledEntry> out) {
+		if(at == null || out.size() >= limit) {
+			return;
+		}
+		int left = size(at.left);
+		if(offset < left) {
+			page(at.left, offset, limit, out);
+		}
+		if(offset <= left && out.size() < limit) {
+			out.add(at.entry);
+		}
+		page(at.right, Math.max(offset - left - 1, 0), limit, out);
+	}
+	
+	private Node insert(Node at, ScheduledEntry entry) {
+		if(at == null) {
+			return new Node(entry);
+		}
+		int side = order.compare(entry, at.entry);
+		if(side < 0) {
+			at.left = insert(at.left, entry);
+		}
+		else if(side > 0) {
+			at.right = insert(at.right, entry);
+		}
+		else {
+			at.entry = entry;
+		}
+		return balance(at);
+	}
+	
+	private Node delete(Node at, ScheduledEntry entry) {
+		if(at == null) {
+			return null;
+		}
+		int side = order.compare(entry, at.entry);
+		if(side < 0) {
+			at.left = delete(at.left, entry);
+		}
+		else if(side > 0) {
+			at.right = delete(at.right, entry);
+		}
+		else {
+			if(at.left == null) {
+				return at.right;
+			}
+			if(at.right == null) {
+				return at.left;
+			}
+			Node heir = at.right;
+			while(heir.left != null) {
+				heir = heir.left;
+			}
+			heir.right = delete(at.right, heir.entry);
+			heir.left = at.left;
+			at = heir;
+		}
+		return balance(at);
+	}
+	
+	private Node balance(Node at) {
+		update(at);
+		int lean = height(at.left) - height(at.right);
+		if(lean > 1) {
+			if(height(at.left.left) < height(at.left.right)) {
+				at.left = rotateLeft(at.left);
+			}
+			return rotateRight(at);
+		}
+		if(lean < -1) {
+			if(height(at.right.right) < height(at.right.left)) {
+				at.right = rotateRight(at.right);
+			}
+			return rotateLeft(at);
+		}
+		return at;
+	}
+	
+	private Node rotateLeft(Node at) {
+		Node up = at.right;
+		at.right = up.left;
+		up.left = at;
+		update(at);
+		update(up);
+		return up;
+	}
+	
+	private Node rotateRight(Node at) {
+		Node up = at.left;
+		at.left = up.right;
+		up.right = at;
+		update(at);
+		update(up);
+		return up;
+	}
+	
+	private void update(Node at) {
+		at.height = 1 + Math.max(height(at.left), height(at.right));
+		at.size = 1 + size(at.left) + size(at.right);
+	}
+	
+	private int height(Node at) {
+		return at == null ? 0 : at.height;
+	}
+	
+	private int size(Node at) {
+		return at == null ? 0 : at.size;
+	}
+	
+//---  Node   ---------------------------------------------------------------------------------
+	
+	private static class Node {
+	
+		/** ScheduledEntry object held by this node*/
+		ScheduledEntry entry;
+		/** int value representing the height of this node's subtree*/
+		int height;
+		/** int value representing the number of entries in this node's subtree*/
+		int size;
+		Node left;
+		Node right;
+	
+		Node(ScheduledEntry entryIn){
+			entry = entryIn;
+			height = 1;
+			size = 1;
+		}
+	
+	}
+	
+}
@@ -1,17 +1,23 @@
 package model.trip;
 
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Date;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import controller.DateCodec;
 import database.Database;
 import database.TableType;
+import database.WriteBatch;
 import model.trip.feature.Feature;
 import model.trip.schedule.Schedulable;
 import model.trip.schedule.SchedulableType;
+import model.trip.schedule.ScheduledEntry;
 import model.trip.schedule.ScheduledItem;
+import model.user.UserCache;
 
 /**
  * This class models a Trip that the User has designed for themselves; a Trip consists
@@ -34,21 +40,14 @@ import model.trip.schedule.ScheduledItem;
 
 public class Trip {
 	
-//---  Constant Values   ----------------------------------------------------------------------
-	
-	/** String[] constant containing the months of the year for converting Date formats from Text to Numerical*/
-	private final static String[] MONTHS = {"", "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
-	
 //---  Instance Variables   -------------------------------------------------------------------
 	
 	/** String object representing the title of this Trip object*/
 	private String title;
-	/**String object holding dateformat*/
-	private String dateformat="dd/MM/yyyy";
-	/** Date object describing the start Date of this Trip object*/
-	private Date start;
-	/** Date object describing the end Date of this Trip object*/
-	private Date end;
+	/** LocalDate object describing the start Date of this Trip object*/
+	private LocalDate start;
+	/** LocalDate object describing the end Date of this Trip object*/
+	private LocalDate end;
 	/** String object containing a description of this Trip object*/
 	private String description;
 	/** String object containing the destination for this Trip object*/
@@ -57,6 +56,18 @@ public class Trip {
 	private HashMap<String, Feature> features;
 	/** HashMap<<r>String, HashMap<<r>String, Schedulable>> object containing a HashMap of Schedulable objects for each Schedulable Type*/
 	private HashMap<String, HashMap<String, Schedulable>> schedulables;
+	/** HashMap<<r>String, HashSet<<r>String>> object containing the names of new or modified Schedulable objects for each Schedulable Type*/
+	private HashMap<String, HashSet<String>> changedSchedulables;
+	/** HashMap<<r>String, HashMap<<r>String, Schedulable>> object containing removed Schedulable objects for each Schedulable Type that the Database still holds*/
+	private HashMap<String, HashMap<String, Schedulable>> removedSchedulables;
+	/** ScheduleIndex object holding the dated Schedulable objects of every Schedulable Type in chronological order*/
+	private ScheduleIndex timeline;
+	/** HashMap<<r>String, HashMap<<r>String, ScheduledEntry>> object containing the entry kept in the sorted views for each Schedulable object, by Schedulable Type then name*/
+	private HashMap<String, HashMap<String, ScheduledEntry>> entries;
+	/** HashMap<<r>String, EnumMap<<r>ScheduleOrder, ScheduleRanking>> object containing a sorted view in each ScheduleOrder for each Schedulable Type*/
+	private HashMap<String, EnumMap<ScheduleOrder, ScheduleRanking>> rankings;
+	/** boolean value representing whether this Trip's own information has changed since it was last saved*/
+	private boolean changedTrip;
 	
 //---  Constructors   -------------------------------------------------------------------------
 
@@ -74,57 +85,121 @@ public class Trip {
 	 */
 	
 	public Trip(String inTitle, String inDestination, String inDescription, String inStart, String inEnd){
+		this(inTitle, inDestination, inDescription, parseDate(inStart), parseDate(inEnd));
+	}
+	
+	/**
+	 * Constructor for objects of the Trip type whose Start/End dates are already known as LocalDates,
+	 * such as when a Trip is read back from the Database.
+	 * 
+	 * @param inTitle - String object representing the title to be assigned to this Trip object
+	 * @param inDestination - String object representing the destination to be assigned to this Trip object
+	 * @param inDescription - String object representing the description to be assigned to this Trip object
+	 * @param inStart - LocalDate object representing the Start Date to be assigned to this Trip object
+	 * @param inEnd - LocalDate object representing the End Date to be assigned to this Trip object
+	 */
+	
+	public Trip(String inTitle, String inDestination, String inDescription, LocalDate inStart, LocalDate inEnd){
 		setTitle(inTitle);
 		setDestination(inDestination);
 		setDescription(inDescription);
 		features = new HashMap<String, Feature>();
 		schedulables = new HashMap<String, HashMap<String, Schedulable>>();
-		try {
-			setStartDate(new SimpleDateFormat(dateformat).parse(inStart));
-			setEndDate(new SimpleDateFormat(dateformat).parse(inEnd));
-		}
-		catch(Exception e) {
+		changedSchedulables = new HashMap<String, HashSet<String>>();
+		removedSchedulables = new HashMap<String, HashMap<String, Schedulable>>();
+		timeline = new ScheduleIndex();
+		entries = new HashMap<String, HashMap<String, ScheduledEntry>>();
+		rankings = new HashMap<String, EnumMap<ScheduleOrder, ScheduleRanking>>();
+		if(inStart == null || inEnd == null) {
 			setTitle(null);
-			e.printStackTrace();
+			System.out.println("Invalid Start/End Date for Trip: " + inStart + " - " + inEnd);
 		}
+		setStartDate(inStart);
+		setEndDate(inEnd);
 	}
 
 //---  Operations   ---------------------------------------------------------------------------
 	
 	/**
-	 * This method instructs this Trip object to process all of the Schedulable Objects stored
-	 * by this Trip to a format that can be saved to the Database, and then store them all to
-	 * the Database. Similarly, the Trip object itself is processed and saved as well.
+	 * This method instructs this Trip object to process the Schedulable Objects stored by this
+	 * Trip that have changed since it was last saved to a format that can be saved to the Database,
+	 * and then store them all to the Database. Similarly, the Trip object itself is processed and
+	 * saved as well if it has changed, and removed Schedulables are deleted.
+	 * 
+	 * The writes are handed to the Database's write-behind queue, which commits them (in a single
+	 * transaction with any others waiting) shortly afterwards, so this returns without waiting on
+	 * the disk; the changes are cleared as the queue now holds them. If the writes are not
+	 * accepted, the user is dropped from the UserCache so that it is next read from the Database.
 	 * 
 	 * @param username - String object informing us of the User under which this Trip object should save its Schedulables and itself
+	 * @return - Returns a boolean value representing whether or not the save was accepted
 	 */
 	
 	public boolean saveToDatabase(String username) {
-		for(String title : schedulables.keySet()) {	
-			for(Schedulable s : schedulables.get(title).values()) {
+		WriteBatch batch = new WriteBatch();
+		addToBatch(batch, username);
+		boolean result = Database.submitBatch(batch);
+		clearChanges();
+		if(!result) {
+			UserCache.invalidate(username);	//queued writes that fail later are reported to the UserCache's listener
+		}
+		return result;
+	}
+	
+	/**
+	 * This method adds the writes needed to save the changes to this Trip object and its Schedulable
+	 * Objects to the provided WriteBatch. Extant rows for this Trip and for Schedulables of the same
+	 * name are replaced, and rows for removed Schedulables are deleted.
+	 * 
+	 * The changes are still considered pending until clearChanges() is called, which should be done
+	 * once the WriteBatch has been committed.
+	 * 
+	 * @param batch - WriteBatch object to add this Trip's writes to
+	 * @param username - String object informing us of the User under which this Trip object should save its Schedulables and itself
+	 */
+	
+	public void addToBatch(WriteBatch batch, String username) {
+		for(String type : removedSchedulables.keySet()) {
+			for(Schedulable s : removedSchedulables.get(type).values()) {
 				String[] types = s.generateDataType(null, 0);
+				batch.delete(type, new String[] {"username", "tripTitle", types[2]}, new String[] {username, getTitle(), s.generateDataEntry(null, 0)[2]});
+			}
+		}
+		for(String type : schedulables.keySet()) {
+			HashSet<String> changed = changedSchedulables.get(type);
+			for(String name : schedulables.get(type).keySet()) {
+				Schedulable s = schedulables.get(type).get(name);
+				boolean edited = s instanceof ScheduledItem && ((ScheduledItem)s).isChanged();
+				if(!edited && (changed == null || !changed.contains(name)))
+					continue;
 				String[] data = s.generateDataEntry(null, 0);
-				types[0] = "username"; types[1] = "tripTitle";
-				data[0] = username; data[1] = getTitle();				
-				if(!Database.addEntry(s.getData().toString(), types, data)) {
-					List<String[]> currVal = Database.search(s.getData().toString(), types, Arrays.copyOfRange(data, 0, 3));
-					boolean different = false;
-					for(int i = 0; i < currVal.get(0).length; i++) {
-						if(!currVal.get(0)[i].equals(data[i])) {
-							different = true;
-						}
-					}
-					if(different) {
-						Database.deleteEntry(s.getData().toString(), types, data);
-						Database.addEntry(s.getData().toString(), types, data);
-					}
-				}
+				data[0] = username; data[1] = getTitle();
+				SchedulableType schema = (SchedulableType)s.getData();
+				batch.upsert(type, schema.getColumns(), data, SchedulableType.KEY_LENGTH, schema.getUpsertSQL());
 			}
 		}
-		return Database.addEntry(TableType.trips, username, getTitle(), getDestination(), simplifyDate(getStartDate()), simplifyDate(getEndDate()), getDescription());
+		if(changedTrip) {
+			batch.upsert(TableType.trips.toString(), TableType.trips.fields, new String[] {username, getTitle(), getDestination(), TableType.encodeDate(getStartDate()), TableType.encodeDate(getEndDate()), getDescription()}, 2);
+		}
 	}
 	
+	/**
+	 * This method marks every change to this Trip object and its Schedulable Objects as having
+	 * been saved to the Database; called after a successful save, or after loading this Trip from
+	 * the Database in the first place.
+	 */
 	
+	public void clearChanges() {
+		changedSchedulables.clear();
+		removedSchedulables.clear();
+		changedTrip = false;
+		for(HashMap<String, Schedulable> group : schedulables.values()) {
+			for(Schedulable s : group.values()) {
+				if(s instanceof ScheduledItem)
+					((ScheduledItem)s).setChanged(false);
+			}
+		}
+	}
 	
 	/**
 	 * This method instructs the Trip to access the Database to receive specific Schedulable Object data
@@ -140,23 +215,29 @@ public class Trip {
 	 */
 	
 	public void pullFromDatabase(String username, SchedulableType scheduleType) {
-		String[] frstTit = scheduleType.getTitles();
-		String[] titles = new String[frstTit.length+2];
-		for(int i = 2; i < titles.length; i++) {
-			titles[i] = frstTit[i-2];
-		}
-		titles[0] = "username";
-		titles[1] = "tripTitle";
-		List<String[]> scheds = Database.search(scheduleType.getType(), titles, new String[] {username, getTitle()});
-		if(scheds == null || scheds.size() == 0)
-			return;
+		Database.searchEach(scheduleType.getSelectByTripSQL(), new String[] {username, getTitle()}, row -> loadSchedulable(scheduleType, row));
+	}
+	
+	/**
+	 * This method takes a row already retrieved from the Database for the provided SchedulableType
+	 * and generates a Schedulable Object from it that is stored by this Trip object.
+	 * 
+	 * The row is expected to be in the table's column order, the first two columns being the
+	 * username and tripTitle which are skipped over. This lets a User load the rows for all of
+	 * its Trips in one query and hand each Trip its share as they are read.
+	 * 
+	 * @param scheduleType - SchedulableType object describing the kind of Schedulable stored in the row
+	 * @param row - String[] containing the Database row belonging to this Trip
+	 */
+	
+	public void loadSchedulable(SchedulableType scheduleType, String[] row) {
 		if(schedulables.get(scheduleType.getType()) == null) {
 			schedulables.put(scheduleType.getType(), new HashMap<String, Schedulable>());
 		}
-		for(String[] sc : scheds) {
-			ScheduledItem schedIt = new ScheduledItem(scheduleType, Arrays.copyOfRange(sc, 2, sc.length), 2);
-			schedulables.get(scheduleType.getType()).put(schedIt.getDisplayData(null).getData("Name"), schedIt);
-		}
+		ScheduledItem schedIt = ScheduledItem.fromRow(scheduleType, row, 2, 2);
+		String name = schedIt.getDisplayData(null).getData("Name");
+		schedulables.get(scheduleType.getType()).put(name, schedIt);
+		index(scheduleType.getType(), name, schedIt);
 	}
 	
 //---  Setter Methods   -----------------------------------------------------------------------
@@ -168,6 +249,7 @@ public class Trip {
 	
 	public void setTitle(String in) {
 		title = in == null ? "" : in;
+		changedTrip = true;
 	}
 	
 	/**
@@ -175,8 +257,9 @@ public class Trip {
 	 * @param in
 	 */
 	
-	public void setStartDate(Date in) {
-		start = in == null ? new Date() : in;
+	public void setStartDate(LocalDate in) {
+		start = in == null ? LocalDate.now() : in;
+		changedTrip = true;
 	}
 	
 	/**
@@ -184,8 +267,9 @@ public class Trip {
 	 * @param in
 	 */
 	
-	public void setEndDate(Date in) {
-		end = in == null ? new Date() : in;
+	public void setEndDate(LocalDate in) {
+		end = in == null ? LocalDate.now() : in;
+		changedTrip = true;
 	}
 	
 	/**
@@ -195,6 +279,7 @@ public class Trip {
 	
 	public void setDescription(String in) {
 		description = in == null ? "" : in;
+		changedTrip = true;
 	}
 	
 	/**
@@ -204,6 +289,7 @@ public class Trip {
 	
 	public void setDestination(String in) {
 		destination = in == null ? "" : in;
+		changedTrip = true;
 	}
 
 //---  Getter Methods   -----------------------------------------------------------------------
@@ -222,7 +308,7 @@ public class Trip {
 	 * @return
 	 */
 	
-	public Date getStartDate() {
+	public LocalDate getStartDate() {
 		return start;
 	}
 	
@@ -233,7 +319,7 @@ public class Trip {
 	 */
 	
 	public String getDisplayStartDate() {
-		return simplifyDate(getStartDate());
+		return DateCodec.format(getStartDate());
 	}
 	
 	/**
@@ -241,7 +327,7 @@ public class Trip {
 	 * @return
 	 */
 	
-	public Date getEndDate() {
+	public LocalDate getEndDate() {
 		return end;
 	}
 	
@@ -251,7 +337,7 @@ public class Trip {
 	 */
 	
 	public String getDisplayEndDate() {
-		return simplifyDate(getEndDate());
+		return DateCodec.format(getEndDate());
 	}
 	
 	/**
@@ -275,7 +361,7 @@ public class Trip {
 	
 	/**
 	 * This method requests a list of Schedulable objects corresponding to the defined Schedulable Type
-	 * that are stored by this Trip object.
+	 * that are stored by this Trip object, earliest first (see ScheduleOrder.START).
 	 * 
 	 * @param schedType - String object representing the type of Schedulable objects to retrieve
 	 * @return - Returns an ArrayList<<r>Schedulable> containing the Schedulable objects corresponding to the defined Schedulable Type
@@ -283,13 +369,104 @@ public class Trip {
 	
 	public ArrayList<Schedulable> getSchedulables(String schedType){
 		ArrayList<Schedulable> out = new ArrayList<Schedulable>();
-		if(schedulables.get(schedType) == null) {
+		HashMap<String, Schedulable> group = schedulables.get(schedType);
+		if(group == null) {
 			return out;
 		}
-		out.addAll(schedulables.get(schedType).values());
+		for(ScheduledEntry entry : getSchedulablePage(schedType, ScheduleOrder.START, 0, group.size())) {
+			out.add(entry.getItem());
+		}
+		if(out.size() < group.size()) {
+			for(Schedulable s : group.values()) {
+				if(!(s instanceof ScheduledItem))
+					out.add(s);
+			}
+		}
+		return out;
+	}
+	
+	/**
+	 * This method reads one page of the Schedulable objects of the defined Schedulable Type in the
+	 * defined order, from the sorted view this Trip keeps for it; only the entries on the page are
+	 * visited, so the cost does not depend on which page is read.
+	 * 
+	 * @param schedType - String object representing the type of Schedulable objects to retrieve
+	 * @param order - ScheduleOrder object representing the order to list them in
+	 * @param offset - int value representing the position in that order of the first one to retrieve
+	 * @param count - int value representing the most to retrieve
+	 * @return - Returns an ArrayList<<r>ScheduledEntry> containing the Schedulable objects on the page, in order
+	 */
+	
+	public ArrayList<ScheduledEntry> getSchedulablePage(String schedType, ScheduleOrder order, int offset, int count){
+		ArrayList<ScheduledEntry> out = new ArrayList<ScheduledEntry>();
+		EnumMap<ScheduleOrder, ScheduleRanking> views = rankings.get(schedType);
+		if(views != null && count > 0) {
+			views.get(order).page(offset, count, out);
+		}
+		return out;
+	}
+	
+	/**
+	 * This method counts the Schedulable objects of the defined Schedulable Type in this Trip's sorted views.
+	 * 
+	 * @param schedType - String object representing the type of Schedulable objects to count
+	 * @return - Returns an int value representing how many there are
+	 */
+	
+	public int getSchedulableCount(String schedType) {
+		EnumMap<ScheduleOrder, ScheduleRanking> views = rankings.get(schedType);
+		return views == null ? 0 : views.get(ScheduleOrder.START).size();
+	}
+	
+	/**
+	 * This method finds every dated Schedulable object in this Trip, of any Schedulable Type, whose
+	 * dates overlap the range from start to end (inclusive), earliest first.
+	 * 
+	 * @param start - LocalDate object representing the first day of the range
+	 * @param end - LocalDate object representing the last day of the range
+	 * @return - Returns an ArrayList<<r>ScheduledEntry> containing the overlapping Schedulable objects in chronological order
+	 */
+	
+	public ArrayList<ScheduledEntry> getOverlapping(LocalDate start, LocalDate end){
+		ArrayList<ScheduledEntry> out = new ArrayList<ScheduledEntry>();
+		if(start != null && end != null) {
+			timeline.overlapping(start, end, out);
+		}
+		return out;
+	}
+	
+	/**
+	 * This method finds the dated Schedulable objects in this Trip that would conflict with a
+	 * Schedulable object running from start to end; the Schedulable object of the defined
+	 * Schedulable Type and name is left out, as it is the one being replaced.
+	 * 
+	 * @param type - String object representing the Schedulable Type of the Schedulable object being checked
+	 * @param name - String object representing the name of the Schedulable object being checked
+	 * @param start - LocalDate object representing the date the Schedulable object begins
+	 * @param end - LocalDate object representing the date the Schedulable object ends
+	 * @return - Returns an ArrayList<<r>ScheduledEntry> containing the conflicting Schedulable objects in chronological order
+	 */
+	
+	public ArrayList<ScheduledEntry> getConflicts(String type, String name, LocalDate start, LocalDate end){
+		ArrayList<ScheduledEntry> out = getOverlapping(start, end);
+		HashMap<String, Schedulable> group = schedulables.get(type);
+		Schedulable self = group == null ? null : group.get(name);
+		out.removeIf(entry -> entry.getItem() == self);
 		return out;
 	}
 	
+	/**
+	 * This method finds the first dated Schedulable object in this Trip that starts on or after
+	 * the provided date.
+	 * 
+	 * @param from - LocalDate object representing the earliest start date to accept
+	 * @return - Returns the ScheduledEntry found, or null if there is none
+	 */
+	
+	public ScheduledEntry getNextScheduled(LocalDate from) {
+		return from == null ? null : timeline.next(from);
+	}
+	
 //---  Adder Methods   ------------------------------------------------------------------------
 	
 	/**
@@ -317,12 +494,33 @@ public class Trip {
 			schedulables.put(type, new HashMap<String, Schedulable>());
 		}
 		schedulables.get(type).put(name, a);
+		index(type, name, a);
+		if(changedSchedulables.get(type) == null) {
+			changedSchedulables.put(type, new HashSet<String>());
+		}
+		changedSchedulables.get(type).add(name);
 	}
 	
 //---  Remover Methods   ----------------------------------------------------------------------
 	
-	public void deleteTrip() {
-		//TODO Has to be able to remove stuff from the database
+	/**
+	 * This method adds the writes needed to delete this Trip object from the Database to the provided
+	 * WriteBatch: its own row, and every row under it in each of the provided SchedulableTypes' tables.
+	 * All of the types are cleared, not only those this Trip holds, as rows may remain from before it
+	 * was retrieved; otherwise a later Trip of the same title would find them again.
+	 * 
+	 * @param batch - WriteBatch object to add the deletions to
+	 * @param username - String object representing the User under which this Trip object is saved
+	 * @param types - Collection<<r>SchedulableType> object containing every SchedulableType the User has
+	 */
+	
+	public void deleteTrip(WriteBatch batch, String username, Collection<SchedulableType> types) {
+		String[] owner = new String[] {"username", "tripTitle"};
+		String[] values = new String[] {username, getTitle()};
+		for(SchedulableType type : types) {
+			batch.delete(type.getType(), owner, values);
+		}
+		batch.delete(TableType.trips.toString(), owner, values);
 	}
 	
 	/**
@@ -335,31 +533,107 @@ public class Trip {
 	}
 	
 	/**
+	 * This method removes the defined Schedulable object from this Trip's storage, remembering it
+	 * so that the next save also deletes it from the Database.
 	 * 
-	 * @param name
+	 * @param schedType - String object representing the Schedulable Type of the Schedulable object
+	 * @param name - String object representing the name of the Schedulable object to remove
 	 */
 	
 	public void removedScheduledItem(String schedType, String name) 
 	{
-		schedulables.get(schedType).remove(name);
+		if(schedulables.get(schedType) == null)
+			return;
+		Schedulable gone = schedulables.get(schedType).remove(name);
+		if(gone == null)
+			return;
+		unindex(schedType, name);
+		if(changedSchedulables.get(schedType) != null) {
+			changedSchedulables.get(schedType).remove(name);
+		}
+		if(removedSchedulables.get(schedType) == null) {
+			removedSchedulables.put(schedType, new HashMap<String, Schedulable>());
+		}
+		removedSchedulables.get(schedType).put(name, gone);
 	}
 	
 //---  Edit Methods   -------------------------------------------------------------------------
 	
+	/**
+	 * This method changes one field of the defined Schedulable object stored by this Trip. The sorted
+	 * views and the timeline hold copies of each Schedulable's name and dates, so it is taken out of
+	 * them, edited, and put back; Schedulables stored by a Trip should only be edited through here,
+	 * never by calling setData on them directly.
+	 * 
+	 * If the edit changes the Schedulable's name, it is stored under the new name and the next save
+	 * deletes its row under the old one. An edit that would give it the name of another Schedulable
+	 * of the same type is undone.
+	 * 
+	 * @param schedType - String object representing the Schedulable Type of the Schedulable object
+	 * @param name - String object representing the name the Schedulable object is stored under
+	 * @param field - String object representing the title of the field to change
+	 * @param value - Object representing the new value, in the form the field's SchedulableCodec decodes to
+	 * @return - Returns a boolean value; true if the Schedulable was edited, false if it was not found or the edit was undone
+	 */
+	
+	public boolean editScheduledItem(String schedType, String name, String field, Object value) {
+		HashMap<String, Schedulable> group = schedulables.get(schedType);
+		Schedulable found = group == null ? null : group.get(name);
+		if(!(found instanceof ScheduledItem)) {
+			return false;
+		}
+		ScheduledItem item = (ScheduledItem)found;
+		int index = item.getData().indexOf(field);
+		if(index == -1) {
+			return false;
+		}
+		ScheduledItem before = item.copy();
+		unindex(schedType, name);
+		item.setData(field, value);
+		String renamed = item.getDisplayData(null).getData("Name");
+		if(renamed != null && !renamed.equals(name) && group.containsKey(renamed)) {
+			item.setData(field, before.getValue(index));
+			item.setChanged(before.isChanged());
+			index(schedType, name, item);
+			return false;
+		}
+		if(!Objects.equals(before.generateDataEntry(null, 0)[2], item.generateDataEntry(null, 0)[2])) {
+			//its row is keyed by the old value, so that row is deleted and a new one written
+			if(removedSchedulables.get(schedType) == null) {
+				removedSchedulables.put(schedType, new HashMap<String, Schedulable>());
+			}
+			removedSchedulables.get(schedType).put(name, before);
+		}
+		if(renamed != null && !renamed.equals(name)) {
+			group.remove(name);
+			group.put(renamed, item);
+			if(changedSchedulables.get(schedType) != null) {
+				changedSchedulables.get(schedType).remove(name);
+			}
+		}
+		else {
+			renamed = name;
+		}
+		if(changedSchedulables.get(schedType) == null) {
+			changedSchedulables.put(schedType, new HashSet<String>());
+		}
+		changedSchedulables.get(schedType).add(renamed);
+		index(schedType, renamed, item);
+		return true;
+	}
+	
 	
 //---  Mechanics   ----------------------------------------------------------------------------
 	
 	/**
-	 * This method processes the large quantity of data given by a Date object to
-	 * only use the relevant information in the desired format.
+	 * This method formats the provided date in the dd/MM/yyyy form used for display and storage.
 	 * 
-	 * @param in - Date object whose information needs to be processed and simplified for display
-	 * @return - Returns a String object representing the simplified information derived from the Date object
+	 * @param in - LocalDate object to be formatted
+	 * @return - Returns a String object representing the date as dd/MM/yyyy
 	 */
 	
-	public String simplifyDate(Date in) {
-		String[] hold = in.toString().split(" ");
-		return hold[2] + "/" + indexOf(MONTHS, hold[1]) + "/" + hold[5];
+	public String simplifyDate(LocalDate in) {
+		return DateCodec.format(in);
 	}
 
 	/**
@@ -379,4 +653,74 @@ public class Trip {
 		return -1;
 	}
 	
+//---  Helper Methods   -----------------------------------------------------------------------
+	
+	/**
+	 * Helper method that reads a date given as dd/MM/yyyy for a constructor, reporting it if it cannot
+	 * be read (the constructor only sees the resulting null).
+	 * 
+	 * @param in - String object representing the date, interpreted as dd/MM/yyyy
+	 * @return - Returns a LocalDate object for the date, or null if it could not be read
+	 */
+	
+	private static LocalDate parseDate(String in) {
+		LocalDate out = DateCodec.parse(in);
+		if(out == null) {
+			System.out.println("Unreadable date for Trip: " + in);
+		}
+		return out;
+	}
+	
+	/**
+	 * Helper method that adds the provided Schedulable object to the sorted views of its Schedulable
+	 * Type, and to the timeline if it is dated, replacing whatever was stored under its name before.
+	 * 
+	 * @param type - String object representing the Schedulable Type of the Schedulable object
+	 * @param name - String object representing the name of the Schedulable object
+	 * @param a - Schedulable object being stored by this Trip
+	 */
+	
+	private void index(String type, String name, Schedulable a) {
+		unindex(type, name);
+		if(!(a instanceof ScheduledItem) || name == null) {
+			return;
+		}
+		ScheduledEntry entry = new ScheduledEntry(getTitle(), name, (ScheduledItem)a);
+		entries.computeIfAbsent(type, k -> new HashMap<String, ScheduledEntry>()).put(name, entry);
+		EnumMap<ScheduleOrder, ScheduleRanking> views = rankings.get(type);
+		if(views == null) {
+			views = new EnumMap<ScheduleOrder, ScheduleRanking>(ScheduleOrder.class);
+			for(ScheduleOrder order : ScheduleOrder.values()) {
+				views.put(order, new ScheduleRanking(order));
+			}
+			rankings.put(type, views);
+		}
+		for(ScheduleRanking view : views.values()) {
+			view.add(entry);
+		}
+		if(entry.getItem().getData().isDated()) {
+			timeline.add(type, name, entry);
+		}
+	}
+	
+	/**
+	 * Helper method that removes whatever is stored under the provided Schedulable Type and name
+	 * from the sorted views and the timeline.
+	 * 
+	 * @param type - String object representing the Schedulable Type of the Schedulable object
+	 * @param name - String object representing the name of the Schedulable object
+	 */
+	
+	private void unindex(String type, String name) {
+		HashMap<String, ScheduledEntry> group = entries.get(type);
+		ScheduledEntry gone = group == null ? null : group.remove(name);
+		if(gone == null) {
+			return;
+		}
+		for(ScheduleRanking view : rankings.get(type).values()) {
+			view.remove(gone);
+		}
+		timeline.remove(type, name);
+	}
+	
 }
@@ -1,6 +1,5 @@
 package model.trip.schedule;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 
 /**
@@ -9,7 +8,13 @@ import java.util.Arrays;
  * 
  * It also provides information regarding the Schedulable Type of the data being observed
  * 
- * Could probably just add a method to Schedulables for searching for a term, but eh.
+ * The data is held in one array laid out in the order of the Schedulable Type's titles, and
+ * titles are found with the Schedulable Type's index (which accepts them with spaces or with
+ * underscores), so a lookup is a single map access with nothing allocated.
+ * 
+ * As the array only has room for the Schedulable Type's titles, addData no longer appends a
+ * title that is not one of them (as it did when the data was kept in lists); it throws an
+ * IllegalArgumentException naming the title instead, as getData always has for one.
  * 
  * @author Mac Clevinger
  *
@@ -21,16 +26,14 @@ public class DisplayData {
 	
 	/** SchedulableType object representing the type of Schedulable that the information corresponds to*/
 	SchedulableType scheduleType;
-	/** ArrayList<<r>String> object containing the titles of all the data stored in this DisplayData object (corresponding by index)*/
-	ArrayList<String> titles;
-	/** ArrayList<<r>String> object containing the data stored in this DisplayData object, corresponding to titles by index*/
-	ArrayList<String> datum;
+	/** String[] containing the data stored in this DisplayData object, corresponding to the SchedulableType's titles by index*/
+	String[] datum;
 	
 //---  Constructors   -------------------------------------------------------------------------
 	
 	/**
 	 * Constructor for objects of the DisplayData type that assigns the provided SchedulableType
-	 * object and initializes the storage of titles and data.
+	 * object and initializes the storage of data.
 	 * 
 	 * @param type - SchedulableType object to which this DisplayData is assigned the type thereof
 	 */
@@ -40,33 +43,44 @@ public class DisplayData {
 			throw new IllegalArgumentException("DisplayData given null value");
 		}
 		scheduleType = type;
-		titles = new ArrayList<String>();
-		datum = new ArrayList<String>();
+		datum = new String[type.size()];
 	}
 	
 //---  Adder Methods   ------------------------------------------------------------------------
 	
 	/**
-	 * This method appends the given title and data values to this DisplayData object's storage of
-	 * those values, creating a new pairing that can be searched for.
+	 * This method stores the given data under the given title, which must be one of the titles
+	 * of this DisplayData object's SchedulableType (with spaces or underscores), replacing any
+	 * data already stored under it.
+	 * 
+	 * Throws IllegalArgumentException, storing nothing, if the title is not one of the
+	 * SchedulableType's; an unknown title is no longer appended.
 	 * 
 	 * @param title - String object representing the title of the data being stored subsequently
 	 * @param data - String object representing the data being stored as described by the previously mentioned title
 	 */
 	
 	public void addData(String title, String data) {
-		
-		title = title.replaceAll(" ", "_");
-		
-		titles.add(title);
-		datum.add(data);
+		datum[find(title, "Addition")] = data;
+	}
+	
+	/**
+	 * This method stores the given data for the field at the given index of this DisplayData
+	 * object's SchedulableType.
+	 * 
+	 * @param field - int value representing the index of the field in the SchedulableType
+	 * @param data - String object representing the data being stored for that field
+	 */
+	
+	void setData(int field, String data) {
+		datum[field] = data;
 	}
 	
 //---  Getter Methods   -----------------------------------------------------------------------
 	
 	/**
-	 * Getter method that searches the stored information for the given String title (processed
-	 * slightly) and returns the data that it finds.
+	 * Getter method that searches the stored information for the given String title (with spaces
+	 * or underscores) and returns the data that it finds.
 	 * 
 	 * Throws IllegalArgumentException if the searched-for title is non-existent.
 	 * 
@@ -75,11 +89,7 @@ public class DisplayData {
 	 */
 	
 	public String getData(String title) {
-		title = title.replaceAll(" ", "_");
-		if(titles.indexOf(title) == -1) {
-			throw new IllegalArgumentException("Invalid Request for Display Data of type: " + title + "\nViable Types: " + Arrays.toString(titles.toArray()));
-		}
-		return datum.get(titles.indexOf(title));
+		return datum[find(title, "Request")];
 	}
 	
 	/**
@@ -92,4 +102,23 @@ public class DisplayData {
 		return scheduleType;
 	}
 	
+//---  Helper Methods   -----------------------------------------------------------------------
+	
+	/**
+	 * Helper method that finds the index of the field with the given title, throwing an
+	 * IllegalArgumentException that names the title and the viable ones if there is none.
+	 * 
+	 * @param title - String object representing the title of the field, with spaces or underscores
+	 * @param action - String object representing what was being attempted, for the message
+	 * @return - Returns an int value representing the index of the field in the SchedulableType
+	 */
+	
+	private int find(String title, String action) {
+		int field = title == null ? -1 : scheduleType.indexOf(title);
+		if(field == -1) {
+			throw new IllegalArgumentException("Invalid " + action + " for Display Data of type: " + title + "\nViable Types: " + Arrays.toString(scheduleType.getTitles()));
+		}
+		return field;
+	}
+	
 }
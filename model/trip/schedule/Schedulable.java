@@ -2,14 +2,11 @@ package model.trip.schedule;
 
 /**
  * This interface describes the behavior of any class that implements it, requiring that
- * they behave in a way which facilitates their usage as a Wrapper Structure for having
- * Schedulable objects be dynamic in what information they store.
+ * they behave in a way which facilitates having Schedulable objects be dynamic in what
+ * information they store.
  * 
- * Each class that implements this defines a data type that it stores, such as a Short String
- * or Date. As a Wrapper, the core ScheduledItem class stores Schedulable-extending classes
- * as an instance variable which possesses its own such instance variable as well. Each of
- * these can be any sub-class of Schedulable, created through a Factory and each type defined
- * from the initial input to the ScheduledItem object.
+ * The core ScheduledItem class stores one value per field of its SchedulableType, each of a
+ * data type (such as a Short String or Date) defined by that SchedulableType.
  *  
  * @author Mac Clevinger
  *
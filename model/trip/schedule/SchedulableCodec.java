@@ -0,0 +1,123 @@
+package model.trip.schedule;
+
+import java.time.LocalDate;
+import controller.DateCodec;
+import database.TableType;
+
+/**
+ * This enum describes each data type a field of a Schedulable Type may have (as named in the
+ * metaField table: sString, lString, Date), and how values of that type are converted from the
+ * Strings they are entered and shown as into the Objects a ScheduledItem holds, and back again.
+ * Values are stored in the Database as shown, except for dates, which are stored as epoch days.
+ * 
+ * @author Mac Clevinger
+ *
+ */
+
+public enum SchedulableCodec {
+
+	SHORT_STRING("sString"),
+	LONG_STRING("lString"),
+	DATE("Date") {
+		@Override
+		public Object decode(String raw) {
+			return DateCodec.parse(raw);
+		}
+		
+		@Override
+		public String encode(Object value) {
+			return DateCodec.format((LocalDate)value);
+		}
+		
+		@Override
+		public Object load(String stored) {
+			return TableType.decodeDate(stored);
+		}
+		
+		@Override
+		public String store(Object value) {
+			return TableType.encodeDate((LocalDate)value);
+		}
+	};
+	
+//---  Instance Variables   -------------------------------------------------------------------
+	
+	/** String object representing the name of this data type as stored in the metaField table*/
+	private String label;
+	
+//---  Constructors   -------------------------------------------------------------------------
+	
+	private SchedulableCodec(String labelIn) {
+		label = labelIn;
+	}
+	
+//---  Operations   ---------------------------------------------------------------------------
+	
+	/**
+	 * This method converts a value as entered into the form a ScheduledItem holds it in.
+	 * 
+	 * @param raw - String object representing the value as entered
+	 * @return - Returns an Object representing the value as held by a ScheduledItem
+	 */
+	
+	public Object decode(String raw) {
+		return raw;
+	}
+	
+	/**
+	 * This method converts a value held by a ScheduledItem into the String it is shown as.
+	 * 
+	 * @param value - Object representing the value as held by a ScheduledItem
+	 * @return - Returns a String object representing the value as shown
+	 */
+	
+	public String encode(Object value) {
+		return (String)value;
+	}
+	
+	/**
+	 * This method converts a value as read from the Database into the form a ScheduledItem holds it in.
+	 * 
+	 * @param stored - String object representing the value as stored
+	 * @return - Returns an Object representing the value as held by a ScheduledItem
+	 */
+	
+	public Object load(String stored) {
+		return decode(stored);
+	}
+	
+	/**
+	 * This method converts a value held by a ScheduledItem into the String it is stored in the Database as.
+	 * 
+	 * @param value - Object representing the value as held by a ScheduledItem
+	 * @return - Returns a String object representing the value as stored
+	 */
+	
+	public String store(Object value) {
+		return encode(value);
+	}
+	
+//---  Getter Methods   -----------------------------------------------------------------------
+	
+	public String getLabel() {
+		return label;
+	}
+	
+	/**
+	 * Getter method to find the SchedulableCodec for the named data type; unknown names are
+	 * reported and treated as short Strings.
+	 * 
+	 * @param dataType - String object representing the name of a data type (sString, lString, Date)
+	 * @return - Returns the SchedulableCodec for that data type
+	 */
+	
+	public static SchedulableCodec forType(String dataType) {
+		for(SchedulableCodec codec : values()) {
+			if(codec.label.equals(dataType))
+				return codec;
+		}
+		System.out.println("Invalid data type for Schedulable field: " + dataType);
+		return SHORT_STRING;
+	}
+	
+}
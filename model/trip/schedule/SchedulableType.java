@@ -1,19 +1,102 @@
 package model.trip.schedule;
 
 import java.util.HashMap;
+import database.TableType;
+
+/**
+ * This class describes a kind of Schedulable Object (Accommodation, Reservation, or one the user
+ * has designed): the title and data type of each of its fields, in order.
+ * 
+ * Everything derived from that description is worked out once, when the SchedulableType is made,
+ * and never changes afterwards: the index of each title (also under its column name, with spaces
+ * made underscores), the SchedulableCodec for each field, and
+ * the column list and sql statements for the table its Schedulable Objects are stored in. Looking
+ * up a field is therefore a single map or array access.
+ * 
+ * @author Mac Clevinger
+ *
+ */
 
 public class SchedulableType {
 
-	private String type;
-	private String[] titles;
-	private String[] dataTypes;
+//---  Constant Values   ----------------------------------------------------------------------
+	
+	/** int value representing how many leading columns (username, tripTitle and the first field) key a Schedulable Type's table*/
+	public final static int KEY_LENGTH = 3;
+	/** String object placed between titles in the list produced by getTitleList()*/
+	public final static String TITLE_SEPARATOR = "   ";
+	/** String[] containing the columns preceding a Schedulable Type's own fields in its table*/
+	private final static String[] OWNER_COLUMNS = new String[] {"username", "tripTitle"};
+	
+//---  Instance Variables   -------------------------------------------------------------------
+	
+	/** String object representing the name of this Schedulable Type, which is also the name of its table*/
+	private final String type;
+	/** String[] containing the title of each field, in order*/
+	private final String[] titles;
+	/** String[] containing the data type of each field, corresponding to titles by index*/
+	private final String[] dataTypes;
+	/** SchedulableCodec[] containing the codec for each field, corresponding to titles by index*/
+	private final SchedulableCodec[] codecs;
+	/** HashMap<<r>String, Integer> object leading from each title (as given, and with spaces made underscores) to its index*/
+	private final HashMap<String, Integer> index;
+	/** HashMap<<r>String, String> object leading from each title to its data type*/
+	private final HashMap<String, String> formatted;
+	/** String object representing the titles joined by TITLE_SEPARATOR*/
+	private final String titleList;
+	/** String[] containing the columns of this Schedulable Type's table: username, tripTitle, then each title*/
+	private final String[] columns;
+	/** String object representing the sql statement upserting a row into this Schedulable Type's table*/
+	private final String sqlUpsert;
+	/** String object representing the sql statement selecting a user's rows from this Schedulable Type's table*/
+	private final String sqlSelectByUser;
+	/** String object representing the sql statement selecting a trip's rows from this Schedulable Type's table*/
+	private final String sqlSelectByTrip;
+	/** int value representing the index of the field holding the start date, or -1 if there is none*/
+	private final int startField;
+	/** int value representing the index of the field holding the end date, or -1 if there is none*/
+	private final int endField;
+	/** String object representing the sql statement selecting a user's rows overlapping a date range, or null if this type is not dated*/
+	private final String sqlSelectByRange;
+	
+//---  Constructors   -------------------------------------------------------------------------
+	
+	/**
+	 * Constructor for objects of the SchedulableType type that compiles the provided description.
+	 * 
+	 * @param inType - String object representing the name of this Schedulable Type
+	 * @param headers - String[] containing the title of each field, in order
+	 * @param typeData - String[] containing the data type of each field, corresponding to headers by index
+	 */
 	
 	public SchedulableType(String inType, String[] headers, String[] typeData) {
 		type = inType;
-		titles = headers;
-		dataTypes = typeData;
+		titles = new String[headers.length];
+		dataTypes = typeData.clone();
+		codecs = new SchedulableCodec[headers.length];
+		index = new HashMap<String, Integer>();
+		formatted = new HashMap<String, String>();
+		columns = new String[headers.length + OWNER_COLUMNS.length];
+		System.arraycopy(OWNER_COLUMNS, 0, columns, 0, OWNER_COLUMNS.length);
+		for(int i = 0; i < headers.length; i++) {
+			titles[i] = headers[i].intern();
+			codecs[i] = SchedulableCodec.forType(dataTypes[i]);
+			index.put(titles[i], i);
+			index.putIfAbsent(titles[i].replace(' ', '_'), i);
+			formatted.put(titles[i], dataTypes[i]);
+			columns[i + OWNER_COLUMNS.length] = titles[i];
+		}
+		titleList = String.join(TITLE_SEPARATOR, titles);
+		sqlUpsert = TableType.generateUpsertSQL(type, columns, KEY_LENGTH);
+		sqlSelectByUser = TableType.generateSearchSQL(type, new String[] {OWNER_COLUMNS[0]});
+		sqlSelectByTrip = TableType.generateSearchSQL(type, OWNER_COLUMNS);
+		startField = dateField(TableType.RANGE_START_FIELD);
+		endField = dateField(TableType.RANGE_END_FIELD);
+		sqlSelectByRange = isDated() ? TableType.generateRangeSQL(type, new String[] {OWNER_COLUMNS[0]}, TableType.RANGE_START_FIELD, TableType.RANGE_END_FIELD, TableType.trips.toString(), OWNER_COLUMNS) : null;
 	}
 	
+//---  Getter Methods   -----------------------------------------------------------------------
+	
 	public String getType() {
 		return type;
 	}
@@ -26,12 +109,145 @@ public class SchedulableType {
 		return dataTypes;
 	}
 	
+	/**
+	 * Getter method to find the position of the field with the provided title; spaces in the
+	 * title may also be given as underscores (as in the field's column name).
+	 * 
+	 * @param title - String object representing the title of a field
+	 * @return - Returns an int value representing the index of that field, or -1 if there is none
+	 */
+	
+	public int indexOf(String title) {
+		Integer out = index.get(title);
+		return out == null ? -1 : out;
+	}
+	
+	/**
+	 * Getter method to access the SchedulableCodec converting values of the field at the provided index.
+	 * 
+	 * @param field - int value representing the index of a field
+	 * @return - Returns the SchedulableCodec for that field
+	 */
+	
+	public SchedulableCodec getCodec(int field) {
+		return codecs[field];
+	}
+	
+	/**
+	 * Getter method to access the number of fields in this Schedulable Type.
+	 * 
+	 * @return - Returns an int value representing the number of fields
+	 */
+	
+	public int size() {
+		return titles.length;
+	}
+	
+	/**
+	 * Getter method to access each title leading to its data type; the same HashMap is returned
+	 * every time, so it should not be modified.
+	 * 
+	 * @return - Returns a HashMap<<r>String, String> object leading from each title to its data type
+	 */
+	
 	public HashMap<String, String> getSchedulableFormatted(){
-		HashMap<String, String> out = new HashMap<String, String>();
-		for(int i = 0; i < titles.length; i++) {
-			out.put(titles[i], dataTypes[i]);
-		}
-		return out;
+		return formatted;
+	}
+	
+	/**
+	 * Getter method to access the titles of this Schedulable Type as one String, separated by TITLE_SEPARATOR.
+	 * 
+	 * @return - Returns a String object listing the titles in order
+	 */
+	
+	public String getTitleList() {
+		return titleList;
+	}
+	
+	/**
+	 * Getter method to access the columns of this Schedulable Type's table.
+	 * 
+	 * @return - Returns a String[] containing username, tripTitle, then each title
+	 */
+	
+	public String[] getColumns() {
+		return columns;
+	}
+	
+	/**
+	 * Getter method to access the sql statement that upserts a row (in the order of getColumns())
+	 * into this Schedulable Type's table, keyed on its first KEY_LENGTH columns.
+	 * 
+	 * @return - Returns a String object representing the upsert sql statement
+	 */
+	
+	public String getUpsertSQL() {
+		return sqlUpsert;
+	}
+	
+	/**
+	 * Getter method to access the sql statement that selects every row in this Schedulable Type's
+	 * table belonging to a username.
+	 * 
+	 * @return - Returns a String object representing the select sql statement, taking the username
+	 */
+	
+	public String getSelectByUserSQL() {
+		return sqlSelectByUser;
+	}
+	
+	/**
+	 * Getter method to access the sql statement that selects every row in this Schedulable Type's
+	 * table belonging to a username and tripTitle.
+	 * 
+	 * @return - Returns a String object representing the select sql statement, taking the username then tripTitle
+	 */
+	
+	public String getSelectByTripSQL() {
+		return sqlSelectByTrip;
+	}
+	
+	/**
+	 * Getter method to query whether this Schedulable Type has both a start and an end date
+	 * field, and so can be searched by date range.
+	 * 
+	 * @return - Returns a boolean value; true if dated, false otherwise
+	 */
+	
+	public boolean isDated() {
+		return startField != -1 && endField != -1;
+	}
+	
+	/**
+	 * Getter method to access the index of the Date field titled TableType.RANGE_START_FIELD.
+	 * 
+	 * @return - Returns an int value representing the index of the start date field, or -1 if there is none
+	 */
+	
+	public int getStartField() {
+		return startField;
+	}
+	
+	/**
+	 * Getter method to access the index of the Date field titled TableType.RANGE_END_FIELD.
+	 * 
+	 * @return - Returns an int value representing the index of the end date field, or -1 if there is none
+	 */
+	
+	public int getEndField() {
+		return endField;
+	}
+	
+	/**
+	 * Getter method to access the sql statement that selects every row in this Schedulable Type's
+	 * table belonging to a username, under a Trip that still exists, whose dates overlap a range,
+	 * earliest first; for use with Database.searchRange.
+	 * 
+	 * @return - Returns a String object representing the select sql statement taking the username, or null if this type is not dated
+	 */
+	
+	public String getSelectByRangeSQL() {
+		return sqlSelectByRange;
 	}
 	
 	@Override
@@ -39,4 +255,11 @@ public class SchedulableType {
 		return type;
 	}
 	
+//---  Helper Methods   -----------------------------------------------------------------------
+	
+	private int dateField(String title) {
+		int out = indexOf(title);
+		return out != -1 && codecs[out] == SchedulableCodec.DATE ? out : -1;
+	}
+	
 }
@@ -0,0 +1,101 @@
+package model.trip.schedule;
+
+import java.time.LocalDate;
+
+/**
+ * This class pairs a ScheduledItem with its name and the title of the Trip it belongs to, as found
+ * by a search across all of a User's Trips (such as for a calendar or day view) or as kept in a
+ * Trip's sorted views; its start and end dates are read once, when it is made.
+ * 
+ * ScheduledEntry objects order chronologically: by start date, then by end date; those without
+ * dates come last.
+ * 
+ * @author Mac Clevinger
+ * 
+ */
+
+public class ScheduledEntry implements Comparable<ScheduledEntry>{
+	
+//---  Instance Variables   -------------------------------------------------------------------
+	
+	/** String object representing the title of the Trip the ScheduledItem belongs to*/
+	private final String tripTitle;
+	/** String object representing the name the ScheduledItem is stored under*/
+	private final String name;
+	/** ScheduledItem object that was found*/
+	private final ScheduledItem item;
+	/** LocalDate object representing the date the ScheduledItem begins*/
+	private final LocalDate start;
+	/** LocalDate object representing the date the ScheduledItem ends*/
+	private final LocalDate end;
+	
+//---  Constructors   -------------------------------------------------------------------------
+	
+	/**
+	 * Constructor for objects of the ScheduledEntry type that reads the name, start date and end
+	 * date of the provided ScheduledItem.
+	 * 
+	 * @param tripIn - String object representing the title of the Trip the ScheduledItem belongs to
+	 * @param itemIn - ScheduledItem object being found
+	 */
+	
+	public ScheduledEntry(String tripIn, ScheduledItem itemIn) {
+		this(tripIn, itemIn.getDisplayData(null).getData("Name"), itemIn);
+	}
+	
+	/**
+	 * Constructor for objects of the ScheduledEntry type that reads the start and end dates of
+	 * the provided ScheduledItem; these are null if its SchedulableType is not dated.
+	 * 
+	 * @param tripIn - String object representing the title of the Trip the ScheduledItem belongs to
+	 * @param nameIn - String object representing the name the ScheduledItem is stored under
+	 * @param itemIn - ScheduledItem object being found
+	 */
+	
+	public ScheduledEntry(String tripIn, String nameIn, ScheduledItem itemIn) {
+		tripTitle = tripIn;
+		name = nameIn;
+		item = itemIn;
+		SchedulableType type = item.getData();
+		start = type.getStartField() == -1 ? null : (LocalDate)item.getValue(type.getStartField());
+		end = type.getEndField() == -1 ? null : (LocalDate)item.getValue(type.getEndField());
+	}
+	
+//---  Getter Methods   -----------------------------------------------------------------------
+	
+	public String getTripTitle() {
+		return tripTitle;
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public ScheduledItem getItem() {
+		return item;
+	}
+	
+	public LocalDate getStart() {
+		return start;
+	}
+	
+	public LocalDate getEnd() {
+		return end;
+	}
+	
+	@Override
+	public int compareTo(ScheduledEntry other) {
+		int out = compare(start, other.start);
+		return out != 0 ? out : compare(end, other.end);
+	}
+	
+//---  Helper Methods   -----------------------------------------------------------------------
+	
+	private static int compare(LocalDate a, LocalDate b) {
+		if(a == null || b == null) {
+			return a == b ? 0 : (a == null ? 1 : -1);
+		}
+		return a.compareTo(b);
+	}
+	
+}
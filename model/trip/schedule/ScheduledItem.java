@@ -1,41 +1,133 @@
 package model.trip.schedule;
 
+/**
+ * This class represents a single Schedulable Object (an Accommodation, Reservation, etc.) as one
+ * array of values laid out in the order of its SchedulableType's titles; each value is held in
+ * the form its field's SchedulableCodec decodes it to (a String for sString and lString, a
+ * LocalDate for Date).
+ * 
+ * Building, reading and writing the item are each a single pass over that array.
+ * 
+ * @author Mac Clevinger
+ *
+ */
+
 public class ScheduledItem implements Schedulable{
 
+//---  Constant Values   ----------------------------------------------------------------------
+	
 	private final static String TYPE = "lString";
 	
-	private Schedulable next;
+//---  Instance Variables   -------------------------------------------------------------------
+	
 	private String title;
+	/** SchedulableType object describing the titles and data types of the values*/
 	private SchedulableType type;
-	private int sizeDatum;
+	/** Object[] containing the value of each field, in the order of the SchedulableType's titles*/
+	private Object[] values;
+	/** int value representing how many leading entries to leave empty in generated arrays (for username and tripTitle)*/
 	private int buffer;
+	/** DisplayData object holding the encoded values, kept until the values are next changed*/
+	private DisplayData display;
+	private boolean changed;
+	
+//---  Constructors   -------------------------------------------------------------------------
 	
 	/**
+	 * Constructor for objects of the ScheduledItem type that converts each of the provided values
+	 * to the data type of its field in the provided SchedulableType.
 	 * 
-	 * @param compType
-	 * @param buf
-	 * @param types - Strings representing what the next Schedulable should be
-	 * @param components - String representing what the title of the next Schedulable is
-	 * @param datum - String representing what data is stored by the next Schedulable
+	 * @param typeIn - SchedulableType object describing the fields of this ScheduledItem
+	 * @param datum - Object[] containing the value of each field as a String, in the order of the SchedulableType's titles
+	 * @param buf - int value representing how many leading entries to leave empty in generated arrays
 	 */
 	
 	public ScheduledItem(SchedulableType typeIn, Object[] datum, int buf) {
 		title = "Composite Type";
 		type = typeIn;
-		next = SchedulableFactory.getScheduleComponent(typeIn.getDataTypes(), typeIn.getTitles(), datum);
-		sizeDatum = next.count();
 		buffer = buf;
+		values = new Object[type.size()];
+		for(int i = 0; i < values.length && i < datum.length; i++) {
+			values[i] = type.getCodec(i).decode((String)datum[i]);
+		}
+	}
+	
+	private ScheduledItem(SchedulableType typeIn, int buf) {
+		title = "Composite Type";
+		type = typeIn;
+		buffer = buf;
+		values = new Object[type.size()];
+	}
+	
+	/**
+	 * This method builds a ScheduledItem from a row as read from the Database, whose values are in
+	 * their stored form (dates as epoch days) rather than as entered.
+	 * 
+	 * @param typeIn - SchedulableType object describing the fields of the ScheduledItem
+	 * @param row - String[] containing the Database row
+	 * @param offset - int value representing the index in row of the first field's value
+	 * @param buf - int value representing how many leading entries to leave empty in generated arrays
+	 * @return - Returns a ScheduledItem object holding the row's values
+	 */
+	
+	public static ScheduledItem fromRow(SchedulableType typeIn, String[] row, int offset, int buf) {
+		ScheduledItem out = new ScheduledItem(typeIn, buf);
+		for(int i = 0; i < out.values.length && offset + i < row.length; i++) {
+			out.values[i] = typeIn.getCodec(i).load(row[offset + i]);
+		}
+		return out;
 	}
 	
+//---  Getter Methods   -----------------------------------------------------------------------
+	
+	/**
+	 * Getter method to request the data stored in this ScheduledItem as a DisplayData object;
+	 * when no DisplayData is provided to fill, the same one is returned each time until the
+	 * data is next changed, so it should not be modified.
+	 * 
+	 * @param fill - DisplayData object of the same SchedulableType to fill, or null
+	 * @return - Returns a DisplayData object containing the data of each field
+	 */
+	
 	@Override
 	public DisplayData getDisplayData(DisplayData fill) {
+		if(fill == null && display != null)
+			return display;
+		DisplayData out = fill == null ? new DisplayData(type) : fill;
+		for(int i = 0; i < values.length; i++) {
+			out.setData(i, encode(i));
+		}
 		if(fill == null)
-			fill = new DisplayData(type);
-		if(next == null)
-			return fill;
-		return next.getDisplayData(fill);
+			display = out;
+		return out;
 	}
 
+	/**
+	 * Getter method to access the value of the field at the provided index, in the form its
+	 * SchedulableCodec decodes it to (a LocalDate for Date fields).
+	 * 
+	 * @param field - int value representing the index of a field in the SchedulableType
+	 * @return - Returns an Object representing the value of that field
+	 */
+	
+	public Object getValue(int field) {
+		return values[field];
+	}
+	
+	/**
+	 * Getter method to make a ScheduledItem holding the same values as this one, such as to keep
+	 * what an item was before it is edited.
+	 * 
+	 * @return - Returns a new ScheduledItem object with this one's SchedulableType, values and changed flag
+	 */
+	
+	public ScheduledItem copy() {
+		ScheduledItem out = new ScheduledItem(type, buffer);
+		System.arraycopy(values, 0, out.values, 0, values.length);
+		out.changed = changed;
+		return out;
+	}
+	
 	@Override
 	public SchedulableType getData() {
 		return type;
@@ -51,33 +143,79 @@ public class ScheduledItem implements Schedulable{
 		return TYPE;
 	}
 	
-	@Override
-	public void setData(String provTitle, Object in) {
-		if(getTitle().equals(provTitle))
-			type = (SchedulableType)in;
-		else
-			next.setData(provTitle, in);
+	/**
+	 * Getter method to query whether the data in this ScheduledItem has been edited since it was
+	 * last saved to the Database.
+	 * 
+	 * @return - Returns a boolean value; true if edited, false otherwise
+	 */
+	
+	public boolean isChanged() {
+		return changed;
 	}
 	
 	@Override
 	public int count() {
-		if(next != null)
-			return 1 + next.count();
-		return 1;
+		return 1 + values.length;
 	}
 
 	@Override
 	public String[] generateDataType(String[] append, int plc) {
-		append = new String[sizeDatum + buffer];
-		plc = buffer;
-		append[plc] = type.getType();
-		return next.generateDataType(append, plc);
+		append = new String[values.length + buffer];
+		System.arraycopy(type.getTitles(), 0, append, buffer, values.length);
+		return append;
 	}
 	
 	@Override
 	public String[] generateDataEntry(String[] append, int plc) {
-		append = new String[sizeDatum + buffer];
-		plc = buffer;
-		return next.generateDataEntry(append, plc);
+		append = new String[values.length + buffer];
+		for(int i = 0; i < values.length; i++) {
+			append[buffer + i] = type.getCodec(i).store(values[i]);
+		}
+		return append;
+	}
+	
+//---  Setter Methods   -----------------------------------------------------------------------
+	
+	/**
+	 * Setter method to change the SchedulableType (if the provided title is this item's title) or
+	 * the value of one field, marking the item as edited.
+	 * 
+	 * A ScheduledItem stored by a Trip must be edited through Trip.editScheduledItem instead, as the
+	 * Trip's sorted views and timeline hold copies of its name and dates that would otherwise go stale.
+	 * 
+	 * @param provTitle - String object representing the title of the field to change
+	 * @param in - Object representing the new value, in the form the field's SchedulableCodec decodes to
+	 */
+	
+	@Override
+	public void setData(String provTitle, Object in) {
+		if(getTitle().equals(provTitle)) {
+			type = (SchedulableType)in;
+		}
+		else {
+			int field = type.indexOf(provTitle);
+			if(field != -1)
+				values[field] = in;
+		}
+		display = null;
+		changed = true;
 	}
+	
+	/**
+	 * Setter method to mark whether the data in this ScheduledItem has unsaved edits.
+	 * 
+	 * @param in - boolean value; false once the edits have been saved
+	 */
+	
+	public void setChanged(boolean in) {
+		changed = in;
+	}
+	
+//---  Helper Methods   -----------------------------------------------------------------------
+	
+	private String encode(int field) {
+		return type.getCodec(field).encode(values[field]);
+	}
+	
 }
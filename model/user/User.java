@@ -1,20 +1,21 @@
 package model.user;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import exceptions.BadTimeException;
-import controller.Encryptor;
+import controller.DateCodec;
+import controller.PasswordHasher;
 import database.*;
+import model.trip.ScheduleOrder;
 import model.trip.Trip;
 import model.trip.schedule.DisplayData;
 import model.trip.schedule.Schedulable;
 import model.trip.schedule.SchedulableType;
+import model.trip.schedule.ScheduledEntry;
 import model.trip.schedule.ScheduledItem;
 
 /**
@@ -22,6 +23,9 @@ import model.trip.schedule.ScheduledItem;
  * Model (only one User is logged in at a time, and their info is necessary to access the
  * information, so it seemed a good focal point.)
  * 
+ * Methods touching the User's Trips and Schedulable Types are synchronized, as the Intermediary
+ * reads them from its dispatcher thread while database-bound actions update them from its workers.
+ * 
  * @author Mac Clevinger
  * @author Regan Lynch
  */
@@ -44,7 +48,8 @@ public class User {
 //---------------------------------------------------------------------------------------------	
 	/**	
 	 * Constructor for objects of the User type that creates an entry in the database for this User using
-	 * the provided input to the constructor; input is assumed to be perfect.
+	 * the provided input to the constructor; input is assumed to be perfect. The password is hashed on
+	 * the calling thread.
 	 * 
 	 * @param fname - String object representing the First Name of this new User
 	 * @param lname - String object representing the Last Name of this new User
@@ -52,9 +57,23 @@ public class User {
 	 * @param passwordIn - String object representing the Password of this new User
 	 */
  	public User(String fname, String lname, String usernameIn, String passwordIn){
+ 		this(fname, lname, usernameIn, passwordIn, PasswordHasher.create(passwordIn));
+ 	}
+ //-----------------------------------------------------------------	
+	/**	
+	 * Constructor for objects of the User type that creates an entry in the database for this User using
+	 * the provided input to the constructor and a stored hash of the password already made (so that it
+	 * can be made on the PasswordHasher's threads); input is assumed to be perfect.
+	 * 
+	 * @param fname - String object representing the First Name of this new User
+	 * @param lname - String object representing the Last Name of this new User
+	 * @param usernameIn - String object representing the Username of this new User
+	 * @param passwordIn - String object representing the Password of this new User
+	 * @param hash - String[] containing the stored hash then the salt, as made by PasswordHasher.create(passwordIn)
+	 */
+ 	public User(String fname, String lname, String usernameIn, String passwordIn, String[] hash){
 		username = usernameIn;
 		password = passwordIn;
-		String[] hash = Encryptor.createSaltedHash(password);
 		
 		boolean result = Database.addEntry(TableType.users, username, fname, lname, getCreationDate(), hash[0], hash[1]);
 		trips = new HashMap<String, Trip>();
@@ -87,19 +106,24 @@ public class User {
 	 * This method accesses the database entries associated to this User and constructs Trip
 	 * objects from that data for display/manipulation, storing that information as instance
 	 * variables across the breadth of the Model.
+	 * 
+	 * Any writes still waiting in the Database's write-behind queue are committed first so that
+	 * they are read back.
 	 */
-	public void retrieveData() {
-		List<String[]> tripsIn = Database.search(TableType.trips, getUsername(), null, null, null, null, null);
-		ArrayList<Trip> out = new ArrayList<Trip>();
-		for(String[] rawData : tripsIn) {
-			out.add(new Trip(rawData[1], rawData[2], rawData[5], rawData[3], rawData[4]));
-		}
-		for(Trip t : out) {
-			if(t != null)
-				trips.put(t.getTitle(), t);
-			for(SchedulableType sched : scheduleTypes.values()) {
-				t.pullFromDatabase(username, sched);
-			}
+	public synchronized void retrieveData() {
+		Database.flushWrites();
+		Database.searchEach(TableType.trips, rawData -> {
+			Trip t = new Trip(rawData[1], rawData[2], rawData[5], TableType.decodeDate(rawData[3]), TableType.decodeDate(rawData[4]));
+			t.clearChanges();
+			trips.put(t.getTitle(), t);
+		}, getUsername(), null, null, null, null, null);
+		//one query per Schedulable Type for all Trips, rather than one per Trip per Type
+		for(SchedulableType sched : scheduleTypes.values()) {
+			Database.searchEach(sched.getSelectByUserSQL(), new String[] {username}, row -> {
+				Trip t = trips.get(row[1]);
+				if(t != null)
+					t.loadSchedulable(sched, row);
+			});
 		}
 	}
 //-----------------------------------------------------------------			
@@ -109,28 +133,17 @@ public class User {
 	 * 
 	 * @return - Returns a boolean value representing whether or not the Trip was added successfully
 	 */
-	public boolean makeTrip(String title, String destination, String description, String dateStart, String dateEnd) 
+	public synchronized boolean makeTrip(String title, String destination, String description, String dateStart, String dateEnd) 
 	{
-		String dateformat="dd/MM/yyyy";
 		if(trips.get(title) != null)  return false;
-		boolean datesOK = true;
-		Date d1=null,d2=null;
-		try {
-			d1 = new SimpleDateFormat(dateformat).parse(dateStart);//try to parse dates
-			d2 = new SimpleDateFormat(dateformat).parse(dateEnd);
-			DateFormat df=new SimpleDateFormat(dateformat);
-			df.setLenient(false);
-			df.parse(dateStart);
-			df.parse(dateEnd);
-		}catch(ParseException pe)
-		{
-			return false;
-		}//try to parse dates
+		LocalDate d1 = DateCodec.parse(dateStart);//try to parse dates
+		LocalDate d2 = DateCodec.parse(dateEnd);
+		if(d1 == null || d2 == null)  return false;
 		
-		if(d1.after(d2))  return false;//make sure the dates don't indicate time travel
+		if(d1.isAfter(d2))  return false;//make sure the dates don't indicate time travel
 		
 		Trip t = new Trip(title, destination, description, dateStart, dateEnd);
-		if((t.getTitle() != null) && datesOK) {
+		if(t.getTitle() != null) {
 			trips.put(t.getTitle(), t);
 			t.saveToDatabase(username);
 			return true;
@@ -143,12 +156,18 @@ public class User {
 	 * 
 	 * TODO: Do this, make sure we have confirmation messages before deletion But confirmation is
 	 * not handled by the User object, it is handled by the user interface.
+	 * 
+	 * The Trip's Schedulables are deleted from the Database along with it, in the same WriteBatch.
+	 * 
+	 * If the deletion is not accepted by the Database, or fails once committed, this User is dropped from the UserCache.
 	 */
-	public boolean deleteTrip(String tripName) {
+	public synchronized boolean deleteTrip(String tripName) {
 		if(trips.get(tripName) == null) return false;
 
-		trips.get(tripName).deleteTrip();
-		Database.deleteEntry(TableType.trips, username, tripName, null, null, null, null);
+		WriteBatch batch = new WriteBatch();
+		trips.get(tripName).deleteTrip(batch, username, scheduleTypes.values());
+		if(!Database.submitBatch(batch))
+			UserCache.invalidate(username);
 		trips.remove(tripName);
 		return true;
 	}
@@ -159,80 +178,61 @@ public class User {
 	 * TODO: Do this
 	 * @return - Returns a boolean value representing the success of this operation.
 	 */
-	private boolean saveData() {
-		boolean result = true;
+	private synchronized boolean saveData() {
+		WriteBatch batch = new WriteBatch();
 		for(Trip t : trips.values()) {
-			result = t.saveToDatabase(username);
-			if(!result) return false;
+			t.addToBatch(batch, username);
 		}
-		return true;
+		boolean result = Database.submitBatch(batch);
+		for(Trip t : trips.values()) {
+			t.clearChanges();
+		}
+		if(!result)
+			UserCache.invalidate(username);
+		return result;
 	}
 //-----------------------------------------------------------------		
 	/**
 	 * This method adds a Schedulable Object, unless its dates are bad in which case it throws an error
 	 * and the user has to fix things and resubmit
 	 * 
+	 * Schedulables already in the Trip whose dates overlap the new one's are found through the Trip's
+	 * timeline and returned so the user can be warned; they do not stop it being added.
+	 * 
 	 * @param tripName
 	 * @param type
 	 * @param data
+	 * @return - Returns an ArrayList<<r>ScheduledEntry> object containing the Schedulables the new one overlaps, earliest first
 	 * @throws BadTimeException
 	 */
-	public void addSchedulableItem(String tripName, String type, String ... data) throws BadTimeException
+	public synchronized ArrayList<ScheduledEntry> addSchedulableItem(String tripName, String type, String ... data) throws BadTimeException
 	{	
 		Trip theTrip = trips.get(tripName);
-		boolean okToSave = true;
-		Date d1=null;
-		int d1pos = -1;
-		int d2pos = -1;
-		Date d2=null;
+		LocalDate d1=null;
+		LocalDate d2=null;
 		int numDates=0;
 		BadTimeException e = new BadTimeException();
 		for(int i=0; i<data.length; i++)
 		{
-			try {
-				Date myDate = new SimpleDateFormat("dd/MM/yyyy").parse((String)data[i]);//try to parse dates
-				numDates++;//keep track of how many there are
-				if(d1==null)//track starting date
-				{
-					d1=myDate;
-					d1pos = i;
-				}
-				else//and ending date
-				{
-					d2 = myDate;
-					d2pos = i;
-				}
-				if(myDate.before(theTrip.getStartDate()) || myDate.after(theTrip.getEndDate()))//make sure the dates are in the right range
-				{
-					okToSave=false;
-					throw e;
-				}
-			}
-			catch(ParseException pe) {
-				//do nothing
-			}
+			LocalDate myDate = DateCodec.parse(data[i]);//try to parse dates
+			if(myDate == null)
+				continue;
+			numDates++;//keep track of how many there are
+			if(d1==null)//track starting date
+				d1=myDate;
+			else//and ending date
+				d2 = myDate;
+			if(myDate.isBefore(theTrip.getStartDate()) || myDate.isAfter(theTrip.getEndDate()))//make sure the dates are in the right range
+				throw e;
 		}
-		if((d2!=null && d1!=null && d2.before(d1)) || numDates!=2)//if you plan on traveling backwards in time our application does not currently support that
+		if((d2!=null && d1!=null && d2.isBefore(d1)) || numDates!=2)//if you plan on traveling backwards in time our application does not currently support that
 		{
-			okToSave=false;
 			throw e;	
 		}
-		try
-		{
-			DateFormat df=new SimpleDateFormat("dd/MM/yyyy");
-			df.setLenient(false);
-			df.parse((String)data[d1pos]);
-			df.parse((String)data[d2pos]);
-		}
-		catch(ParseException pe)
-		{
-			throw e;
-		}
-		if(okToSave)//if appropriate, save the item
-		{
-			theTrip.addScheduledItem(data[0], type, new ScheduledItem(scheduleTypes.get(type), data, 2));
-			trips.get(tripName).saveToDatabase(username);
-		}
+		ArrayList<ScheduledEntry> conflicts = theTrip.getConflicts(type, data[0], d1, d2);
+		theTrip.addScheduledItem(data[0], type, new ScheduledItem(scheduleTypes.get(type), data, 2));
+		trips.get(tripName).saveToDatabase(username);
+		return conflicts;
 	}
 //-----------------------------------------------------------------		
 	/**
@@ -244,7 +244,7 @@ public class User {
 	 * @param titles - String[] containing the labels for each piece of data stored by this Schedulable Type
 	 * @param types - String[] containing the data types for each piece of data stored by this Schedulable Type
 	 */
-	public void addSchedulableType(String header, String[] titles, String[] types) {
+	public synchronized void addSchedulableType(String header, String[] titles, String[] types) {
 		
 //		System.out.println("adding type " + header);
 		
@@ -257,8 +257,9 @@ public class User {
 	 * @param schedName - the name of that schedulable
 	 * @param schedulableType - the type of that schedulable
 	 */
-	public void deleteSchedulable(String tripName, String schedName, String schedulableType){
+	public synchronized void deleteSchedulable(String tripName, String schedName, String schedulableType){
 		trips.get(tripName).removedScheduledItem(schedulableType, schedName);
+		trips.get(tripName).saveToDatabase(username);
 	}
 //---------------------------------------------------------------------------------------------	
 //										GETTER METHODS	
@@ -296,7 +297,7 @@ public class User {
 	 * 
 	 * @return - Returns an ArrayList<<r>Trip> object containing all extant Trip objects for this User object
 	 */
-	public ArrayList<Trip> getTrips(){
+	public synchronized ArrayList<Trip> getTrips(){
 		return new ArrayList<Trip>(trips.values());
 	}
 //-----------------------------------------------------------------	
@@ -308,7 +309,7 @@ public class User {
 	 * @param schedulableType - String object representing which Schedulable objects are viable to be returned
 	 * @return - Returns an ArrayList<<r>Schedulable> object containing all Schedulables of type schedulableType
 	 */
-	public ArrayList<Schedulable> getSchedulables(String tripName, String schedulableType){
+	public synchronized ArrayList<Schedulable> getSchedulables(String tripName, String schedulableType){
 		return trips.get(tripName).getSchedulables(schedulableType);
 	}
 //-----------------------------------------------------------------
@@ -324,9 +325,20 @@ public class User {
 	 * @param header - String object representing the SchedulableType to retrieve the titles thereof.
 	 * @return - Returns a String[] containing the titles of the data in the defined SchedulableType
 	 */
-	public String[] getSchedulableTypeTitles(String header) {
+	public synchronized String[] getSchedulableTypeTitles(String header) {
 		return scheduleTypes.get(header).getTitles();
 	}
+//-----------------------------------------------------------------
+	/**
+	 * Getter method to retrieve the titles of the Schedulable Type defined by the input 'header' as
+	 * a single String, each separated by SchedulableType.TITLE_SEPARATOR.
+	 * 
+	 * @param header - String object representing the SchedulableType to retrieve the titles thereof.
+	 * @return - Returns a String object listing the titles of the data in the defined SchedulableType
+	 */
+	public synchronized String getSchedulableTypeTitleList(String header) {
+		return scheduleTypes.get(header).getTitleList();
+	}
 //-----------------------------------------------------------------
 	/**
 	 * Getter method to request a HashMap<String, DisplayData> containing the title of specific
@@ -334,15 +346,15 @@ public class User {
 	 * accessing its data by specific data titles (such as 'Name' or 'Start Date').
 	 * 
 	 * It requests a list of all Schedulables in the defined Trip of the defined SchedulableType
-	 * and has those objects generate their DisplayData object via a recursive Wrapper method
-	 * used for Schedulable objects.
+	 * and has those objects provide their DisplayData object, which each keeps until its data
+	 * next changes. The entries iterate earliest first.
 	 * 
 	 * @param tripName - String object representing the Trip to retrieve Schedulables from
 	 * @param schedulableType - String object representing the SchedulableType for which all retrieved Schedulables should be a type of
 	 * @return - Returns a HashMap<<r>String, DisplayData> object containing entries for each viable Schedulable object in the defined Trip
 	 */
-	public HashMap<String, DisplayData> getDisplaySchedulablesData(String tripName, String schedulableType){
-		HashMap<String, DisplayData> out = new HashMap<String, DisplayData>();
+	public synchronized HashMap<String, DisplayData> getDisplaySchedulablesData(String tripName, String schedulableType){
+		HashMap<String, DisplayData> out = new LinkedHashMap<String, DisplayData>();
 		ArrayList<Schedulable> sched = getSchedulables(tripName, schedulableType);
 		
 		for(Schedulable sc : sched) {
@@ -351,6 +363,83 @@ public class User {
 		}
 		return out;
 	}
+//-----------------------------------------------------------------
+	/**
+	 * Getter method to request one page of the DisplayData objects of the Schedulables in the defined
+	 * Trip of the defined SchedulableType, listed in the defined order; the page is read from the
+	 * Trip's sorted view, so nothing is gathered or sorted beyond the Schedulables on it.
+	 * 
+	 * @param tripName - String object representing the Trip to retrieve Schedulables from
+	 * @param schedulableType - String object representing the SchedulableType of the Schedulables to retrieve
+	 * @param order - ScheduleOrder object representing the order to list the Schedulables in
+	 * @param offset - int value representing the position in that order of the first Schedulable to retrieve
+	 * @param count - int value representing the most Schedulables to retrieve
+	 * @return - Returns an ArrayList<<r>DisplayData> object containing the Schedulables on the page, in order
+	 */
+	public synchronized ArrayList<DisplayData> getDisplaySchedulablesPage(String tripName, String schedulableType, ScheduleOrder order, int offset, int count){
+		ArrayList<DisplayData> out = new ArrayList<DisplayData>();
+		for(ScheduledEntry entry : trips.get(tripName).getSchedulablePage(schedulableType, order, offset, count)) {
+			out.add(entry.getItem().getDisplayData(null));
+		}
+		return out;
+	}
+//-----------------------------------------------------------------
+	/**
+	 * Getter method to count the Schedulables in the defined Trip of the defined SchedulableType.
+	 * 
+	 * @param tripName - String object representing the Trip to count Schedulables in
+	 * @param schedulableType - String object representing the SchedulableType of the Schedulables to count
+	 * @return - Returns an int value representing how many there are
+	 */
+	public synchronized int getSchedulableCount(String tripName, String schedulableType) {
+		return trips.get(tripName).getSchedulableCount(schedulableType);
+	}
+//-----------------------------------------------------------------
+	/**
+	 * Getter method to find every Schedulable, across all of this User's Trips, whose dates
+	 * overlap the range from start to end (inclusive), earliest first (by start date, then end date).
+	 * 
+	 * The search is made in the Database, one indexed query per dated SchedulableType, so it reads
+	 * only the Schedulables that have not finished before the range begins and does not need the
+	 * Trips to have been retrieved. Rows left behind by a deleted Trip are not returned. Writes still
+	 * waiting in the write-behind queue are committed first.
+	 * 
+	 * @param start - LocalDate object representing the first day of the range; null for no lower bound
+	 * @param end - LocalDate object representing the last day of the range; null for no upper bound
+	 * @return - Returns an ArrayList<<r>ScheduledEntry> object containing each Schedulable found with the title of its Trip
+	 */
+	public synchronized ArrayList<ScheduledEntry> getScheduledBetween(LocalDate start, LocalDate end){
+		ArrayList<ScheduledEntry> out = new ArrayList<ScheduledEntry>();
+		Database.flushWrites();
+		String[] search = new String[] {username};
+		for(SchedulableType sched : scheduleTypes.values()) {
+			if(!sched.isDated())
+				continue;
+			Database.searchRange(sched.getSelectByRangeSQL(), search, start, end, row -> 
+				out.add(new ScheduledEntry(row[1], ScheduledItem.fromRow(sched, row, 2, 2))));
+		}
+		//each type's rows arrive already in order; the sort merges those runs
+		out.sort(null);
+		return out;
+	}
+//-----------------------------------------------------------------
+	/**
+	 * Getter method to find the first Schedulable, across all of this User's retrieved Trips, that
+	 * starts on or after the provided date (such as for a 'what's next' summary); each Trip answers
+	 * from its timeline without scanning its Schedulables.
+	 * 
+	 * @param from - LocalDate object representing the earliest start date to accept
+	 * @return - Returns a ScheduledEntry object for the Schedulable found, or null if there is none
+	 */
+	public synchronized ScheduledEntry getNextScheduled(LocalDate from) {
+		ScheduledEntry out = null;
+		for(Trip t : trips.values()) {
+			ScheduledEntry next = t.getNextScheduled(from);
+			if(next != null && (out == null || next.compareTo(out) < 0))
+				out = next;
+		}
+		return out;
+	}
 //-----------------------------------------------------------------
 	/**
 	 * Getter method to access a pairing of each title for the data in a specified SchedulableType
@@ -364,7 +453,7 @@ public class User {
 	 * @param schedulableType - String object representing the desired kind of SchedulableType to retrieve the titles and types of
 	 * @return - Returns a HashMap<<r>String, String> object containing the titles of the stored data leading to their types
 	 */
-	public HashMap<String, String> getCreateSchedulablesData(String schedulableType){
+	public synchronized HashMap<String, String> getCreateSchedulablesData(String schedulableType){
 		return scheduleTypes.get(schedulableType).getSchedulableFormatted();
 	}
 //-----------------------------------------------------------------
@@ -373,7 +462,7 @@ public class User {
 	 * 
 	 * @return - Returns an ArrayList<<r>String> object containing all the SchedulableType objects that this User object possesses.
 	 */
-	public ArrayList<String> getSchedulableTypes(){
+	public synchronized ArrayList<String> getSchedulableTypes(){
 
 		ArrayList<String> ret_list =  new ArrayList<String>(scheduleTypes.keySet());
 		for(String table : ret_list) {
@@ -0,0 +1,100 @@
+package model.user;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import database.Database;
+
+/**
+ * This class holds the fully loaded User objects (with their Trips and Schedulables) of the
+ * users most recently active in this run of the program, so that logging back in, or switching
+ * between users, hands back the same objects instead of reading them all from the Database again.
+ * 
+ * At most CAPACITY users are held (-Dpanyk.userCache.size); when another is added, the one
+ * least recently used is dropped. Writes go through the cached objects to the Database, so a
+ * cached User stays current; if a write for a user is not accepted, or is queued and later fails
+ * to commit (as reported to the WriteFailureListener registered here), that user is dropped from
+ * the cache so that their next login reads what the Database actually holds.
+ * 
+ * A cached User is only handed out after the password has been checked against the Database.
+ * 
+ * @author Mac Clevinger
+ * 
+ */
+
+public class UserCache {
+	
+//---  Constant Values   ----------------------------------------------------------------------
+	
+	/** int value representing the most Users held at once (-Dpanyk.userCache.size)*/
+	private final static int CAPACITY = Integer.getInteger("panyk.userCache.size", 8);
+	
+//---  Static Variables   ---------------------------------------------------------------------
+	
+	/** LinkedHashMap<<r>String, User> object leading from each cached username to its User, least recently used first*/
+	private static LinkedHashMap<String, User> users = new LinkedHashMap<String, User>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+	
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, User> eldest) {
+			return size() > CAPACITY;
+		}
+	};
+	
+	static {
+		Database.addWriteFailureListener((table, fields, values, dropped) -> {
+			for(int i = 0; i < fields.length; i++) {
+				if(fields[i].equals("username")) {
+					invalidate(values[i]);
+				}
+			}
+		});
+	}
+	
+//---  Operations   ---------------------------------------------------------------------------
+	
+	/**
+	 * This method retrieves the cached User for the provided username, marking it most recently used.
+	 * 
+	 * @param username - String object representing the username of the User
+	 * @return - Returns the cached User object, or null if that user is not cached
+	 */
+	
+	public static synchronized User get(String username) {
+		return username == null ? null : users.get(username);
+	}
+	
+	/**
+	 * This method caches the provided User, whose data should already have been retrieved, as the
+	 * most recently used; Users that failed to validate are not cached.
+	 * 
+	 * @param user - User object to cache
+	 */
+	
+	public static synchronized void put(User user) {
+		if(user != null && user.validate()) {
+			users.put(user.getUsername(), user);
+		}
+	}
+	
+	/**
+	 * This method drops the User cached for the provided username, if any; called when a write
+	 * for that user was not accepted, so the cached User may no longer match the Database.
+	 * 
+	 * @param username - String object representing the username of the User to drop
+	 */
+	
+	public static synchronized void invalidate(String username) {
+		if(username != null) {
+			users.remove(username);
+		}
+	}
+	
+	public static synchronized void clear() {
+		users.clear();
+	}
+	
+	public static synchronized int size() {
+		return users.size();
+	}
+	
+}
@@ -0,0 +1,70 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.junit.jupiter.api.Test;
+
+/**	tests that the Encryptor hashes passwords exactly as a plain SHA-256 over (salt + password) does,
+ * 	which is how every stored hash was made, so reusing digests and buffers never changes a hash
+ * 
+ * @author Regan Lynch
+ * 
+ */
+public class EncryptorTest {
+	
+	/** the salt used when checking passwords, as stored for a user */
+	private static final String SALT = "0123456789ABCDEF0123";
+	
+	/** passwords the Encryptor must hash the same way as the reference, including non-ASCII text, an unpaired surrogate, and one longer than the starting buffer */
+	private static final String[] CHECKS = new String[] {"", "password", "p\u00e4ssw\u00f6rd", "\u5bc6\u7801", "emoji\ud83d\ude00", "broken\ud83d", "x".repeat(300)};
+	
+	
+	@Test
+	public void saltedHashMatchesReference() throws NoSuchAlgorithmException {
+		for(String pass : CHECKS) {
+			assertEquals(referenceHash(SALT + pass), Encryptor.createSaltedHash(pass, SALT), "hash differs from the reference for: " + pass);
+		}
+	}
+	
+	@Test
+	public void repeatedHashesMatch() throws NoSuchAlgorithmException {
+		//a long password grows the thread's buffer; shorter ones after it must not see its leftovers
+		for(int round = 0; round < 2; round++) {
+			for(String pass : CHECKS) {
+				assertEquals(referenceHash(SALT + pass), Encryptor.createSaltedHash(pass, SALT));
+			}
+		}
+	}
+	
+	@Test
+	public void newHashUsesItsOwnSalt() throws NoSuchAlgorithmException {
+		String[] first = Encryptor.createSaltedHash("password");
+		String[] second = Encryptor.createSaltedHash("password");
+		assertEquals(referenceHash(first[1] + "password"), first[0]);
+		assertNotEquals(first[1], second[1]);
+		assertEquals(first[0], Encryptor.createSaltedHash("password", first[1]));
+	}
+	
+	
+	//------------ helper methods ----------------------------------------------------------
+	
+	/**	hashes the text the way the Encryptor used to: a new MessageDigest for each hash, over the String's bytes
+	 * 
+	 * @param saltedPass
+	 * @return	the uppercase hex of the SHA-256 hash
+	 */
+	private static String referenceHash(String saltedPass) throws NoSuchAlgorithmException {
+		byte[] hash = MessageDigest.getInstance("SHA-256").digest(saltedPass.getBytes(StandardCharsets.UTF_8));
+		StringBuilder out = new StringBuilder();
+		for(byte b : hash) {
+			out.append(String.format("%02X", b));
+		}
+		return out.toString();
+	}
+	
+}
@@ -0,0 +1,197 @@
+package model.trip;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import model.trip.schedule.SchedulableType;
+import model.trip.schedule.ScheduledEntry;
+import model.trip.schedule.ScheduledItem;
+
+/**
+ * These tests check the ScheduleIndex interval tree: that it stays balanced as entries are added
+ * and removed, and that overlapping and next agree with a plain scan of the same entries,
+ * including at the edges of each range.
+ * 
+ * @author Mac Clevinger
+ * 
+ */
+
+public class ScheduleIndexTest {
+	
+//---  Constant Values   ----------------------------------------------------------------------
+	
+	private final static String TYPE = "Accommodation";
+	private final static SchedulableType SCHEMA = new SchedulableType(TYPE, new String[] {"Name", "Start Date", "End Date"}, new String[] {"sString", "Date", "Date"});
+	private final static LocalDate FIRST = LocalDate.of(2021, 1, 1);
+	
+//---  Tests   --------------------------------------------------------------------------------
+	
+	@Test
+	public void emptyIndexFindsNothing() {
+		ScheduleIndex index = new ScheduleIndex();
+		List<ScheduledEntry> out = new ArrayList<ScheduledEntry>();
+		index.overlapping(FIRST, FIRST.plusDays(100), out);
+		assertTrue(out.isEmpty());
+		assertNull(index.next(FIRST));
+		assertEquals(0, index.size());
+	}
+	
+	@Test
+	public void rangeEdgesAreInclusive() {
+		ScheduleIndex index = new ScheduleIndex();
+		add(index, "a", 10, 12);
+		assertEquals("a", names(overlapping(index, 12, 20)));
+		assertEquals("a", names(overlapping(index, 0, 10)));
+		assertEquals("a", names(overlapping(index, 11, 11)));
+		assertEquals("", names(overlapping(index, 13, 20)));
+		assertEquals("", names(overlapping(index, 0, 9)));
+	}
+	
+	@Test
+	public void nextAcceptsTheSameDayAndNothingAfterTheLast() {
+		ScheduleIndex index = new ScheduleIndex();
+		add(index, "a", 5, 6);
+		add(index, "b", 10, 10);
+		assertEquals("a", index.next(day(0)).getName());
+		assertEquals("a", index.next(day(5)).getName());
+		assertEquals("b", index.next(day(6)).getName());
+		assertEquals("b", index.next(day(10)).getName());
+		assertNull(index.next(day(11)));
+	}
+	
+	@Test
+	public void addingUnderTheSameNameReplaces() {
+		ScheduleIndex index = new ScheduleIndex();
+		add(index, "a", 1, 2);
+		add(index, "a", 30, 31);
+		assertEquals(1, index.size());
+		assertEquals("", names(overlapping(index, 1, 2)));
+		assertEquals("a", names(overlapping(index, 30, 30)));
+	}
+	
+	@Test
+	public void undatedEntriesAreNotIndexed() {
+		ScheduleIndex index = new ScheduleIndex();
+		index.add(TYPE, "a", new ScheduledEntry("trip", "a", new ScheduledItem(SCHEMA, new String[] {"a", "", ""}, 2)));
+		assertEquals(0, index.size());
+		assertNull(index.next(FIRST));
+	}
+	
+	@Test
+	public void removingWhatIsAbsentChangesNothing() {
+		ScheduleIndex index = new ScheduleIndex();
+		add(index, "a", 1, 2);
+		index.remove(TYPE, "b");
+		index.remove("Reservation", "a");
+		assertEquals(1, index.size());
+		assertEquals("a", names(overlapping(index, 0, 5)));
+	}
+	
+	@Test
+	public void sortedInsertsStayBalanced() throws ReflectiveOperationException {
+		ScheduleIndex index = new ScheduleIndex();
+		for(int i = 0; i < 1023; i++) {
+			add(index, "n" + i, i, i + 1);
+		}
+		//an AVL tree of 1023 nodes is at most 14 high; unbalanced it would be 1023
+		assertTrue(height(index) <= 14, "height " + height(index));
+		for(int i = 0; i < 1023; i += 2) {
+			index.remove(TYPE, "n" + i);
+		}
+		assertTrue(height(index) <= 13, "height " + height(index));
+		assertEquals(511, index.size());
+	}
+	
+	@Test
+	public void matchesAScanThroughRandomAddsAndRemoves() {
+		Random random = new Random(42);
+		ScheduleIndex index = new ScheduleIndex();
+		HashMap<String, ScheduledEntry> all = new HashMap<String, ScheduledEntry>();
+		for(int step = 0; step < 2000; step++) {
+			String name = "n" + random.nextInt(200);
+			if(random.nextInt(3) == 0) {
+				index.remove(TYPE, name);
+				all.remove(name);
+			}
+			else {
+				int start = random.nextInt(365);
+				all.put(name, add(index, name, start, start + random.nextInt(20)));
+			}
+			int from = random.nextInt(400) - 20;
+			int to = from + random.nextInt(40);
+			assertEquals(names(scan(all, from, to)), names(overlapping(index, from, to)));
+			ScheduledEntry next = index.next(day(from));
+			ScheduledEntry expected = null;
+			for(ScheduledEntry entry : all.values()) {
+				if(!entry.getStart().isBefore(day(from)) && (expected == null || entry.getStart().isBefore(expected.getStart()))) {
+					expected = entry;
+				}
+			}
+			assertEquals(expected == null ? null : expected.getStart(), next == null ? null : next.getStart());
+			assertEquals(all.size(), index.size());
+		}
+	}
+	
+//---  Helper Methods   -----------------------------------------------------------------------
+	
+	private static LocalDate day(int of) {
+		return FIRST.plusDays(of);
+	}
+	
+	private static ScheduledEntry add(ScheduleIndex index, String name, int start, int end) {
+		ScheduledItem item = new ScheduledItem(SCHEMA, new String[] {name, "", ""}, 2);
+		item.setData("Start Date", day(start));
+		item.setData("End Date", day(end));
+		ScheduledEntry entry = new ScheduledEntry("trip", name, item);
+		index.add(TYPE, name, entry);
+		return entry;
+	}
+	
+	private static List<ScheduledEntry> overlapping(ScheduleIndex index, int from, int to) {
+		List<ScheduledEntry> out = new ArrayList<ScheduledEntry>();
+		index.overlapping(day(from), day(to), out);
+		return out;
+	}
+	
+	private static List<ScheduledEntry> scan(HashMap<String, ScheduledEntry> all, int from, int to) {
+		List<ScheduledEntry> out = new ArrayList<ScheduledEntry>();
+		for(ScheduledEntry entry : all.values()) {
+			if(!entry.getEnd().isBefore(day(from)) && !entry.getStart().isAfter(day(to))) {
+				out.add(entry);
+			}
+		}
+		out.sort((a, b) -> a.compareTo(b) != 0 ? a.compareTo(b) : a.getName().compareTo(b.getName()));
+		return out;
+	}
+	
+	private static String names(List<ScheduledEntry> entries) {
+		ArrayList<String> out = new ArrayList<String>();
+		for(ScheduledEntry entry : entries) {
+			out.add(entry.getName());
+		}
+		return String.join(",", out);
+	}
+	
+	private static int height(ScheduleIndex index) throws ReflectiveOperationException {
+		Field root = ScheduleIndex.class.getDeclaredField("root");
+		root.setAccessible(true);
+		Object node = root.get(index);
+		if(node == null) {
+			return 0;
+		}
+		Field height = node.getClass().getDeclaredField("height");
+		height.setAccessible(true);
+		return height.getInt(node);
+	}
+	
+}
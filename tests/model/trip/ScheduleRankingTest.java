@@ -0,0 +1,164 @@
+package model.trip;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import model.trip.schedule.SchedulableType;
+import model.trip.schedule.ScheduledEntry;
+import model.trip.schedule.ScheduledItem;
+
+/**
+ * These tests check the ScheduleRanking order-statistic tree: that it stays balanced as entries
+ * are added and removed, and that page returns the same entries as slicing a sorted list,
+ * including offsets and counts at and past either end.
+ * 
+ * @author Mac Clevinger
+ * 
+ */
+
+public class ScheduleRankingTest {
+	
+//---  Constant Values   ----------------------------------------------------------------------
+	
+	private final static SchedulableType SCHEMA = new SchedulableType("Accommodation", new String[] {"Name", "Start Date", "End Date"}, new String[] {"sString", "Date", "Date"});
+	private final static LocalDate FIRST = LocalDate.of(2021, 1, 1);
+	
+//---  Tests   --------------------------------------------------------------------------------
+	
+	@Test
+	public void pageBoundaries() {
+		ScheduleRanking ranking = new ScheduleRanking(ScheduleOrder.NAME);
+		for(String name : new String[] {"c", "a", "e", "b", "d"}) {
+			ranking.add(entry(name, 0));
+		}
+		assertEquals("a,b", page(ranking, 0, 2));
+		assertEquals("e", page(ranking, 4, 2));
+		assertEquals("", page(ranking, 5, 2));
+		assertEquals("", page(ranking, 9, 2));
+		assertEquals("a,b", page(ranking, -3, 2));
+		assertEquals("", page(ranking, 1, 0));
+		assertEquals("b,c,d,e", page(ranking, 1, 100));
+	}
+	
+	@Test
+	public void pageAppendsToWhatIsAlreadyInTheList() {
+		ScheduleRanking ranking = new ScheduleRanking(ScheduleOrder.NAME);
+		for(String name : new String[] {"a", "b", "c"}) {
+			ranking.add(entry(name, 0));
+		}
+		List<ScheduledEntry> out = new ArrayList<ScheduledEntry>();
+		out.add(entry("z", 0));
+		ranking.page(1, 1, out);
+		assertEquals("z,b", names(out));
+	}
+	
+	@Test
+	public void startOrderBreaksTiesByName() {
+		ScheduleRanking ranking = new ScheduleRanking(ScheduleOrder.START);
+		ranking.add(entry("b", 3));
+		ranking.add(entry("a", 3));
+		ranking.add(entry("c", 1));
+		assertEquals("c,a,b", page(ranking, 0, 10));
+	}
+	
+	@Test
+	public void addingAnEqualEntryReplacesAndRemovingAnAbsentOneDoesNothing() {
+		ScheduleRanking ranking = new ScheduleRanking(ScheduleOrder.NAME);
+		ranking.add(entry("a", 0));
+		ranking.add(entry("a", 0));
+		assertEquals(1, ranking.size());
+		ranking.remove(entry("b", 0));
+		assertEquals(1, ranking.size());
+		ranking.remove(entry("a", 0));
+		assertEquals(0, ranking.size());
+		assertEquals("", page(ranking, 0, 10));
+	}
+	
+	@Test
+	public void sortedInsertsStayBalanced() throws ReflectiveOperationException {
+		ScheduleRanking ranking = new ScheduleRanking(ScheduleOrder.START);
+		for(int i = 0; i < 1023; i++) {
+			ranking.add(entry(String.format("n%04d", i), i));
+		}
+		//an AVL tree of 1023 nodes is at most 14 high; unbalanced it would be 1023
+		assertTrue(height(ranking) <= 14, "height " + height(ranking));
+		for(int i = 0; i < 1023; i += 2) {
+			ranking.remove(entry(String.format("n%04d", i), i));
+		}
+		assertTrue(height(ranking) <= 13, "height " + height(ranking));
+		assertEquals(511, ranking.size());
+		assertEquals("n0001,n0003", page(ranking, 0, 2));
+		assertEquals("n1021", page(ranking, 510, 5));
+	}
+	
+	@Test
+	public void matchesASortedListThroughRandomAddsAndRemoves() {
+		Random random = new Random(42);
+		ScheduleRanking ranking = new ScheduleRanking(ScheduleOrder.START);
+		HashMap<String, ScheduledEntry> all = new HashMap<String, ScheduledEntry>();
+		for(int step = 0; step < 2000; step++) {
+			String name = "n" + random.nextInt(200);
+			if(all.containsKey(name)) {
+				//as a Trip does, the entry is taken out before its replacement goes in
+				ranking.remove(all.remove(name));
+			}
+			if(random.nextInt(3) != 0) {
+				ScheduledEntry added = entry(name, random.nextInt(60));
+				ranking.add(added);
+				all.put(name, added);
+			}
+			List<ScheduledEntry> sorted = new ArrayList<ScheduledEntry>(all.values());
+			sorted.sort(ScheduleOrder.START.getComparator());
+			int offset = random.nextInt(all.size() + 5);
+			int count = random.nextInt(10);
+			List<ScheduledEntry> expected = sorted.subList(Math.min(offset, sorted.size()), Math.min(offset + count, sorted.size()));
+			assertEquals(names(expected), page(ranking, offset, count));
+			assertEquals(all.size(), ranking.size());
+		}
+	}
+	
+//---  Helper Methods   -----------------------------------------------------------------------
+	
+	private static ScheduledEntry entry(String name, int start) {
+		ScheduledItem item = new ScheduledItem(SCHEMA, new String[] {name, "", ""}, 2);
+		item.setData("Start Date", FIRST.plusDays(start));
+		item.setData("End Date", FIRST.plusDays(start + 1));
+		return new ScheduledEntry("trip", name, item);
+	}
+	
+	private static String page(ScheduleRanking ranking, int offset, int count) {
+		List<ScheduledEntry> out = new ArrayList<ScheduledEntry>();
+		ranking.page(offset, count, out);
+		return names(out);
+	}
+	
+	private static String names(List<ScheduledEntry> entries) {
+		ArrayList<String> out = new ArrayList<String>();
+		for(ScheduledEntry entry : entries) {
+			out.add(entry.getName());
+		}
+		return String.join(",", out);
+	}
+	
+	private static int height(ScheduleRanking ranking) throws ReflectiveOperationException {
+		Field root = ScheduleRanking.class.getDeclaredField("root");
+		root.setAccessible(true);
+		Object node = root.get(ranking);
+		if(node == null) {
+			return 0;
+		}
+		Field height = node.getClass().getDeclaredField("height");
+		height.setAccessible(true);
+		return height.getInt(node);
+	}
+	
+}
@@ -0,0 +1,96 @@
+package model.trip;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.trip.schedule.SchedulableType;
+import model.trip.schedule.ScheduledEntry;
+import model.trip.schedule.ScheduledItem;
+
+/**
+ * These tests check that editing a Schedulable through Trip.editScheduledItem keeps the Trip's
+ * timeline and sorted views in step with the edited values.
+ * 
+ * @author Mac Clevinger
+ * 
+ */
+
+public class TripTest {
+	
+//---  Constant Values   ----------------------------------------------------------------------
+	
+	private final static String TYPE = "Accommodation";
+	
+//---  Instance Variables   -------------------------------------------------------------------
+	
+	private SchedulableType type;
+	private Trip trip;
+	
+//---  Setup   --------------------------------------------------------------------------------
+	
+	@BeforeEach
+	public void setup() {
+		type = new SchedulableType(TYPE, new String[] {"Name", "Start Date", "End Date"}, new String[] {"sString", "Date", "Date"});
+		trip = new Trip("trip", "somewhere", "a trip", day(1), day(30));
+		trip.addScheduledItem("Hotel", TYPE, new ScheduledItem(type, new String[] {"Hotel", "01/06/2021", "05/06/2021"}, 2));
+		trip.addScheduledItem("Hostel", TYPE, new ScheduledItem(type, new String[] {"Hostel", "10/06/2021", "12/06/2021"}, 2));
+	}
+	
+//---  Tests   --------------------------------------------------------------------------------
+	
+	@Test
+	public void editedDatesMoveInTheTimeline() {
+		assertTrue(trip.editScheduledItem(TYPE, "Hotel", "End Date", day(11)));
+		assertEquals("Hotel", names(trip.getOverlapping(day(8), day(8))));
+		assertEquals("Hotel", names(trip.getConflicts(TYPE, "Hostel", day(10), day(12))));
+		assertTrue(trip.editScheduledItem(TYPE, "Hotel", "End Date", day(2)));
+		assertEquals("Hostel", names(trip.getOverlapping(day(3), day(12))));
+		assertEquals("Hotel", trip.getNextScheduled(day(1)).getName());
+	}
+	
+	@Test
+	public void editedStartReordersTheViews() {
+		assertTrue(trip.editScheduledItem(TYPE, "Hotel", "Start Date", day(20)));
+		assertTrue(trip.editScheduledItem(TYPE, "Hotel", "End Date", day(21)));
+		assertEquals("Hostel,Hotel", names(trip.getSchedulablePage(TYPE, ScheduleOrder.START, 0, 10)));
+		assertEquals("Hostel", trip.getNextScheduled(day(1)).getName());
+	}
+	
+	@Test
+	public void renamedItemIsStoredUnderItsNewName() {
+		assertTrue(trip.editScheduledItem(TYPE, "Hotel", "Name", "Motel"));
+		assertEquals("Hostel,Motel", names(trip.getSchedulablePage(TYPE, ScheduleOrder.NAME, 0, 10)));
+		assertEquals(2, trip.getSchedulableCount(TYPE));
+		assertFalse(trip.editScheduledItem(TYPE, "Hotel", "End Date", day(3)));
+		assertTrue(trip.editScheduledItem(TYPE, "Motel", "End Date", day(3)));
+	}
+	
+	@Test
+	public void renameOntoAnotherItemIsUndone() {
+		assertFalse(trip.editScheduledItem(TYPE, "Hotel", "Name", "Hostel"));
+		assertEquals("Hostel,Hotel", names(trip.getSchedulablePage(TYPE, ScheduleOrder.NAME, 0, 10)));
+		assertEquals("Hotel,Hostel", names(trip.getOverlapping(day(1), day(30))));
+	}
+	
+//---  Helper Methods   -----------------------------------------------------------------------
+	
+	private static LocalDate day(int of) {
+		return LocalDate.of(2021, 6, of);
+	}
+	
+	private static String names(ArrayList<ScheduledEntry> entries) {
+		ArrayList<String> out = new ArrayList<String>();
+		for(ScheduledEntry entry : entries) {
+			out.add(entry.getName());
+		}
+		return String.join(",", out);
+	}
+	
+}
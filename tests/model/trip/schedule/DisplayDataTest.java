@@ -0,0 +1,47 @@
+package model.trip.schedule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * These tests check that DisplayData stores and finds data by its SchedulableType's titles, with
+ * spaces or underscores, and rejects any other title with an IllegalArgumentException.
+ * 
+ * @author Mac Clevinger
+ * 
+ */
+
+public class DisplayDataTest {
+	
+//---  Constant Values   ----------------------------------------------------------------------
+	
+	private final static SchedulableType SCHEMA = new SchedulableType("Accommodation", new String[] {"Name", "Start Date"}, new String[] {"sString", "Date"});
+	
+//---  Tests   --------------------------------------------------------------------------------
+	
+	@Test
+	public void titlesMatchWithSpacesOrUnderscores() {
+		DisplayData data = new DisplayData(SCHEMA);
+		assertNull(data.getData("Start Date"));
+		data.addData("Start_Date", "01/06/2021");
+		assertEquals("01/06/2021", data.getData("Start Date"));
+		data.addData("Start Date", "02/06/2021");
+		assertEquals("02/06/2021", data.getData("Start_Date"));
+	}
+	
+	@Test
+	public void unknownTitlesAreRejected() {
+		DisplayData data = new DisplayData(SCHEMA);
+		data.addData("Name", "Hotel");
+		IllegalArgumentException added = assertThrows(IllegalArgumentException.class, () -> data.addData("Price", "100"));
+		assertTrue(added.getMessage().contains("Price"));
+		assertThrows(IllegalArgumentException.class, () -> data.addData(null, "100"));
+		assertThrows(IllegalArgumentException.class, () -> data.getData("Price"));
+		assertEquals("Hotel", data.getData("Name"));
+	}
+	
+}
@@ -10,6 +10,7 @@ import input.Communication;
 import intermediary.Intermediary;
 import model.trip.Trip;
 import model.trip.schedule.DisplayData;
+import model.trip.schedule.SchedulableType;
 import visual.frame.WindowFrame;
 import visual.panel.ElementPanel;
 
@@ -19,10 +20,10 @@ import visual.panel.ElementPanel;
  * classes which automate certain kinds of display patterns (i.e, certain configurations
  * such as the calendar; designed visualizations of stored data.)
  * 
- * Communication between this and Intermediary via user input can be done by updating the
- * static Communication object in the clickBehaviour and keyBehaviour methods of Panel objects.
- * Intermediary is on a constant clock cycle to detect updates to Communication to respond to
- * user input this way.
+ * Communication between this and Intermediary via user input can be done by storing values in the
+ * static Communication object and posting a CONTROL command with Intermediary.post() in the
+ * clickBehaviour and keyBehaviour methods of Panel objects. Intermediary dispatches posted
+ * commands in order on its own thread to respond to user input this way.
  * 
  * @author Mac Clevinger
  *
@@ -114,7 +115,8 @@ public class Display {
 	/** This is not a limitation of how many elements can be in a composite, increase if you need more space; handles priority room*/
 	private static final int MAX_COMPOSITE_ELEMENTS = 10;
 	
-	private static final int MAX_VIS_LIST_ITEMS=3;
+	/** How many Schedulable objects are shown on each page of the schedulable select screen*/
+	public static final int MAX_VIS_LIST_ITEMS=3;
 	
 	private static final int MAX_VIS_TRIPS=4;
 	
@@ -143,7 +145,7 @@ public class Display {
 		height = inHeight;
 		display = new WindowFrame(width + 14, height + 37);	//offset because java windows aren't quite accurate
 		intermediary = relation;		
-		Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_INITIAL_SCREEN);
+		Intermediary.post(Intermediary.CONTROL_INITIAL_SCREEN);
 	}
 	
 //---  Operations   ---------------------------------------------------------------------------
@@ -159,7 +161,7 @@ public class Display {
 		ElementPanel titlePanel = new ElementPanel(0, 0, display.getWidth(), display.getHeight()) {
 			public void clickBehaviour(int event) {
 				if(event == EVENT_GO_TO_LOGIN) {
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_LOGIN_SCREEN);
+					Intermediary.post(Intermediary.CONTROL_LOGIN_SCREEN);
 				}
 			}	
 		};
@@ -187,10 +189,10 @@ public class Display {
 					Communication.set(Intermediary.LOGIN_USERNAME, uname);
 					Communication.set(Intermediary.LOGIN_PASSWORD, pass);
 					
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_ATTEMPT_LOGIN);
+					Intermediary.post(Intermediary.CONTROL_ATTEMPT_LOGIN);
 				}
 				else if(event == EVENT_GO_TO_CREATE_ACCOUNT) {
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_USER_CREATE);
+					Intermediary.post(Intermediary.CONTROL_USER_CREATE);
 				}
 			}
 		};
@@ -237,10 +239,10 @@ public class Display {
 					Communication.set(Intermediary.CREATE_USER_USERNAME, uname);
 					Communication.set(Intermediary.CREATE_USER_PASSWORD, pass);
 					
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_ATTEMPT_USER_CREATE);
+					Intermediary.post(Intermediary.CONTROL_ATTEMPT_USER_CREATE);
 				}
 				else if(event == EVENT_GO_TO_LOGIN) {
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_LOGIN_SCREEN);
+					Intermediary.post(Intermediary.CONTROL_LOGIN_SCREEN);
 				}
 			}
 		};
@@ -276,15 +278,15 @@ public class Display {
 		ElementPanel tripSelect = new ElementPanel(0, 0, width, height) {
 			public void clickBehaviour(int event) {
 				if(event == EVENT_GO_TO_LOGIN) {
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_LOGIN_SCREEN);
+					Intermediary.post(Intermediary.CONTROL_LOGIN_SCREEN);
 				}
 				else if(event == EVENT_GO_TO_CREATE_TRIP) {
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_TRIP_CREATION);
+					Intermediary.post(Intermediary.CONTROL_TRIP_CREATION);
 				}
 				else if(event >= EVENT_GO_TO_ITEM) {
 					int tripNum = event - EVENT_GO_TO_ITEM;
 					Communication.set(Intermediary.CURR_TRIP, trips.get(tripNum).getTitle());
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_MAIN_SCREEN);
+					Intermediary.post(Intermediary.CONTROL_MAIN_SCREEN);
 				}
 				else if(event == EVENT_NEXT_PAGE)
 				{
@@ -364,7 +366,7 @@ public class Display {
 		ElementPanel tripCreate = new ElementPanel(0, 0, width, height) {
 			public void clickBehaviour(int event) {
 				if(event == EVENT_GO_TO_SELECT_TRIP){
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_TRIP_SELECT);
+					Intermediary.post(Intermediary.CONTROL_TRIP_SELECT);
 				}
 				else if(event == EVENT_ATTEMPT_CREATE_TRIP){
 					String title = getElementStoredText("tripTitle_text");
@@ -379,7 +381,7 @@ public class Display {
 					Communication.set(Intermediary.CREATE_TRIP_DESTINATION, dest);
 					Communication.set(Intermediary.CREATE_TRIP_DESCRIPTION, descr);
 					
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_ATTEMPT_CREATE_TRIP);
+					Intermediary.post(Intermediary.CONTROL_ATTEMPT_CREATE_TRIP);
 				}
 				
 			}
@@ -421,17 +423,18 @@ public class Display {
 			public void clickBehaviour(int event) {
 				if(!interpretHeader(event)) {
 					if(event == EVENT_GO_TO_SELECT_TRIP) {
-						Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_TRIP_SELECT);
+						Intermediary.post(Intermediary.CONTROL_TRIP_SELECT);
 					}
 					else if(event == EVENT_GO_TO_CREATE_SCHEDULABLE_ARCHETYPE) {
-						Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_SCREEN_SHEDULABLE_ARC_CREATE);
+						Intermediary.post(Intermediary.CONTROL_SCREEN_SHEDULABLE_ARC_CREATE);
 					}
 					else if(event == EVENT_CONFIRM_DELETE) {
 						confirmBox("Are you sure you want to delete this trip?", Intermediary.CONTROL_DELETE_TRIP, Intermediary.CONTROL_MAIN_SCREEN);
 					}
 					else if(event != -1 && event != EVENT_GO_TO_MAIN) {
 						Communication.set(Intermediary.CURR_SCHEDULABLE_TYPE, scheduleTypes.get(event - EVENT_GO_TO_ITEM));
-						Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_SCHEDULABLE_SELECT);
+						Communication.set(Intermediary.CURR_SCHEDULABLE_PAGE, "0");
+						Intermediary.post(Intermediary.CONTROL_SCHEDULABLE_SELECT);
 					}
 				}
 			}
@@ -461,37 +464,39 @@ public class Display {
 	 * Schedulable objects, the location of that subset in the full set of Schedulable objects being
 	 * defined by the provided int pagenum.
 	 * 
+	 * Only the page being shown is provided, earliest first; moving to another page asks the
+	 * Intermediary for it (via CURR_SCHEDULABLE_PAGE) rather than holding every Schedulable here.
+	 * 
 	 * Can also create a new Schedulable object of the current type from this screen.
 	 * 
 	 * Has access to the Header tab that allows transitioning between different screens via Schedulable Types
 	 * and potentially Features.
 	 * 
-	 * @param data
-	 * @param pagenum
+	 * @param data - ArrayList<<r>DisplayData> object containing the Schedulable objects on this page, in order
+	 * @param total - int value representing how many Schedulable objects there are across all pages
+	 * @param pagenum - int value representing which page is being shown, starting from 0
 	 */
 	
-	public void schedulableSelectScreen(HashMap<String, DisplayData> data, int pagenum) 
+	public void schedulableSelectScreen(ArrayList<DisplayData> data, int total, int pagenum) 
 	{
 		
 		String scheduleType = Communication.get(Intermediary.CURR_SCHEDULABLE_TYPE);
-		ArrayList<String> key = new ArrayList<String>(data.keySet());
 		
 		ElementPanel rS = new ElementPanel(0, 0, width, height){
 			public void clickBehaviour(int event) {
 				if(!interpretHeader(event)) {
 					if(event == EVENT_GO_TO_CREATE_SCHEDULABLE) 
-						Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_SCHEDULABLE_CREATION);
+						Intermediary.post(Intermediary.CONTROL_SCHEDULABLE_CREATION);
 					else if(event == EVENT_GO_TO_SELECT_TRIP) {
-						Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_TRIP_SELECT);
+						Intermediary.post(Intermediary.CONTROL_TRIP_SELECT);
 					}
 					else if(event == EVENT_NEXT_PAGE) {
-						
-						resetView();
-						schedulableSelectScreen(data, pagenum+1);//this is ugly, but pagenum++ throws a strange error
+						Communication.set(Intermediary.CURR_SCHEDULABLE_PAGE, Integer.toString(pagenum+1));
+						Intermediary.post(Intermediary.CONTROL_SCHEDULABLE_SELECT);
 					}
 					else if(event == EVENT_PREV_PAGE) {
-						resetView();
-						schedulableSelectScreen(data, pagenum-1);
+						Communication.set(Intermediary.CURR_SCHEDULABLE_PAGE, Integer.toString(pagenum-1));
+						Intermediary.post(Intermediary.CONTROL_SCHEDULABLE_SELECT);
 					}else if(event >= EVENT_GO_TO_ITEM) {
 							
 						int schedNum = event - EVENT_GO_TO_ITEM;
@@ -499,7 +504,7 @@ public class Display {
 						//Intermediary.goToSchedScreen(scheduleType, data, schedNum);
 						
 						Communication.set(Intermediary.CURR_SCHED, Integer.toString(schedNum)); //TODO: edit communication to handle types other than String to avoid type conversions
-						Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_SCHED_SCREEN);
+						Intermediary.post(Intermediary.CONTROL_SCHED_SCREEN);
 					}
 					
 				}
@@ -521,25 +526,17 @@ public class Display {
 		 * So now it's one really big method and the behaviour can be set appropriately and pagecount can be accessed easily
 		 */
 		designTwoColorBorder(rS, "border_in", COLOR_WHITE, COLOR_BLACK, width/6, height /4, width*2/3, height/2, 50, 30, 1, false);
-		int scheds;// the number of schedulables that will be displayed
-		if((data.keySet().size() - pagenum*MAX_VIS_LIST_ITEMS) > MAX_VIS_LIST_ITEMS)//if there are too many of this thing to fit on the page
-		{
-			scheds = MAX_VIS_LIST_ITEMS;//present the maximum number we're able to show with the current window style (currently 3)
-		}
-		else//otherwise
-		{
-			scheds = data.keySet().size() - (pagenum*MAX_VIS_LIST_ITEMS);//just show all the schedulables here
-		}
+		int scheds = Math.min(data.size(), MAX_VIS_LIST_ITEMS);// the number of schedulables that will be displayed
 		
 		int itemnum;//variable to keep track of which schedulable in the chronological order this one is
 		
-		if(data.keySet().size()!=0)// so long as there actually are schedulables to print
+		if(scheds!=0)// so long as there actually are schedulables to print
 		{
 			for(int i = 0; i < scheds; i++) //show all the schedulables for the page with correct placement and info
 			{
 				itemnum = (MAX_VIS_LIST_ITEMS*pagenum) + i;
 				
-				DisplayData map = data.get(key.get(itemnum));
+				DisplayData map = data.get(i);
 				designReactiveButton(rS, "trip_"+itemnum, COLOR_SEPARATOR, COLOR_BLACK, FONT_ENTRY, map.getData("Name"), width/2, height*2/9 + (i+1)*(height/8), width*7/12, height/10, 3, EVENT_GO_TO_ITEM+itemnum, true);
 				rS.addText("trip_desc_"+itemnum, 35, width/2 + width*7/48, height*2/9 + (i+1)*(height/8) + height/30, width*7/12, height/10, map.getData("Description"), FONT_ENTRY, true);
 				rS.addText("trip_date_"+itemnum, 35, width/2 - width*7/48, height*2/9 + (i+1)*(height/8) + height/30, width*7/12, height/10, map.getData("Start Date") + " - " + map.getData("End Date"), FONT_ENTRY, true);
@@ -551,7 +548,7 @@ public class Display {
 		{
 			designReactiveButton(rS, "prev", COLOR_SEPARATOR, COLOR_BLACK, FONT_ENTRY, "Previous", 2*width/5, height * 10 / 12, width/12, height/20, 4, EVENT_PREV_PAGE, true);
 		}
-		if((MAX_VIS_LIST_ITEMS*pagenum + scheds)<data.keySet().size())
+		if((MAX_VIS_LIST_ITEMS*pagenum + scheds)<total)
 		{
 			designReactiveButton(rS, "next", COLOR_SEPARATOR, COLOR_BLACK, FONT_ENTRY, "Next", 3*width/5, height * 10 / 12, width/12, height/20, 3, EVENT_NEXT_PAGE, true);
 			
@@ -566,37 +563,33 @@ public class Display {
 	 * GUI assets to make it work
 	 * 
 	 * @param typeData - a hashmap holding the specifics type of schedulable on display
-	 * @param specifics - a hashmap with the specifics of schedulables of that type
-	 * @param schedNum - which schedulable in that list is to be displayed
+	 * @param detailMap - the DisplayData of the schedulable to be displayed
 	 */
-	public void schedScreen(HashMap<String, String> typeData, HashMap<String, DisplayData> specifics, int schedNum) {
-		ArrayList<String> key = new ArrayList<String>(specifics.keySet());
+	public void schedScreen(HashMap<String, String> typeData, DisplayData detailMap) {
 		
 		ElementPanel mR = new ElementPanel(0, 0, width, height) {
 			public void clickBehaviour(int event) {
 				if(event == EVENT_GO_TO_SELECT_SCHEDULABLE){
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_SCHEDULABLE_SELECT);
+					Intermediary.post(Intermediary.CONTROL_SCHEDULABLE_SELECT);
 				}
 				else if(event == EVENT_ATTEMPT_CREATE_SCHEDULABLE){
 					//insert deletion code here
-					Communication.set(Intermediary.CURR_DELETE_SCHED, key.get(0));
+					Communication.set(Intermediary.CURR_DELETE_SCHED, detailMap.getData("Name"));
 					String header = Communication.get(Intermediary.CURR_SCHEDULABLE_TYPE);
 						
-					String[] titles = Communication.get(Intermediary.CURR_SCHEDULABLE_TITLES).split("   ");
+					String[] titles = Communication.get(Intermediary.CURR_SCHEDULABLE_TITLES).split(SchedulableType.TITLE_SEPARATOR);
 					
 					for(int i = 0; i < titles.length; i++) {
 						Communication.set(header + "_" + titles[i], getElementStoredText(header + "_" + titles[i] + "_text"));
 					}
-					Communication.set(Intermediary.CURR_DELETE_SCHED, key.get(0));
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_REPLACE_SCHED);
-					//Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_ATTEMPT_SCHEDULABLE_CREATE);
+					Communication.set(Intermediary.CURR_DELETE_SCHED, detailMap.getData("Name"));
+					Intermediary.post(Intermediary.CONTROL_REPLACE_SCHED);
+					//Intermediary.post(Intermediary.CONTROL_ATTEMPT_SCHEDULABLE_CREATE);
 				}
 				else if(event == EVENT_ATTEMPT_DELETE_SCHEDULABLE)
 				{
-					specifics.remove(schedNum);
-					
-					Communication.set(Intermediary.CURR_DELETE_SCHED, key.get(0));
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_DELETE_SCHED);
+					Communication.set(Intermediary.CURR_DELETE_SCHED, detailMap.getData("Name"));
+					Intermediary.post(Intermediary.CONTROL_DELETE_SCHED);
 				}
 				else if(event==EVENT_GO_TO_ITEM)
 				{
@@ -645,8 +638,6 @@ public class Display {
 					mult++;
 				}
 				
-				DisplayData detailMap = specifics.get(key.get(schedNum));
-				
 				int across = (int)((double)(i + 1) / (double)(columns + 2) * width);
 				int down = height * 11 / 30 + height * j / (columns + 2);
 				int wid = width/(columns + 3);
@@ -688,12 +679,12 @@ public class Display {
 		ElementPanel mR = new ElementPanel(0, 0, width, height) {
 			public void clickBehaviour(int event) {
 				if(event == EVENT_GO_TO_SELECT_SCHEDULABLE){
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_SCHEDULABLE_SELECT);
+					Intermediary.post(Intermediary.CONTROL_SCHEDULABLE_SELECT);
 				}
 				else if(event == EVENT_ATTEMPT_CREATE_SCHEDULABLE){
 					String header = Communication.get(Intermediary.CURR_SCHEDULABLE_TYPE);
 
-					String[] titles = Communication.get(Intermediary.CURR_SCHEDULABLE_TITLES).split("   ");
+					String[] titles = Communication.get(Intermediary.CURR_SCHEDULABLE_TITLES).split(SchedulableType.TITLE_SEPARATOR);
 					
 //					System.out.println(Arrays.toString(titles));
 					
@@ -701,7 +692,7 @@ public class Display {
 			
 						Communication.set(header + "_" + titles[i], getElementStoredText(header + "_" + titles[i] + "_text"));
 					}
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_ATTEMPT_SCHEDULABLE_CREATE);
+					Intermediary.post(Intermediary.CONTROL_ATTEMPT_SCHEDULABLE_CREATE);
 				}
 				
 			}
@@ -776,11 +767,11 @@ public class Display {
 					Intermediary.NEW_SCHED_ARC_HEADER = "";
 					Intermediary.NEW_SCHED_ARC_FIELDS = Intermediary.DEFAULT_NEW_SCHED_ARC_FIELDS;
 					Intermediary.NEW_SCHED_ARC_TYPES = Intermediary.DEFAULT_NEW_SCHED_ARC_TYPES;;
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_MAIN_SCREEN);
+					Intermediary.post(Intermediary.CONTROL_MAIN_SCREEN);
 				}else if (event == EVENT_ATTEMPT_CREATE_NEW_SCHED_ARC_TYPE) {
 					
 					Intermediary.NEW_SCHED_ARC_HEADER = getElementStoredText("name_entry_text");
-					Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_ATTEMPT_SHEDULABLE_ARC_CREATE);
+					Intermediary.post(Intermediary.CONTROL_ATTEMPT_SHEDULABLE_ARC_CREATE);
 					
 				}else if (event == EVENT_ADD_FIELD_TO_NEW_SCHED_ARC_TYPE) {
 					JFrame jf = new JFrame();
@@ -820,7 +811,7 @@ public class Display {
 									Intermediary.NEW_SCHED_ARC_FIELDS = newFields;
 									Intermediary.NEW_SCHED_ARC_TYPES = newFieldTypes;
 									
-									Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_SCREEN_SHEDULABLE_ARC_CREATE);
+									Intermediary.post(Intermediary.CONTROL_SCREEN_SHEDULABLE_ARC_CREATE);
 								}
 							}else {
 								errorBox("Invalid field type selection");
@@ -926,12 +917,13 @@ public class Display {
 	
 	public boolean interpretHeader(int event) {
 		if(event == EVENT_GO_TO_MAIN){
-			Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_MAIN_SCREEN);
+			Intermediary.post(Intermediary.CONTROL_MAIN_SCREEN);
 			return true;
 		}
 		else if(event != -1 && event <= intermediary.getSchedulableTypeHeaders().size()){
 			Communication.set(Intermediary.CURR_SCHEDULABLE_TYPE, intermediary.getSchedulableTypeHeaders().get(event-1));
-			Communication.set(Intermediary.CONTROL, Intermediary.CONTROL_SCHEDULABLE_SELECT);
+			Communication.set(Intermediary.CURR_SCHEDULABLE_PAGE, "0");
+			Intermediary.post(Intermediary.CONTROL_SCHEDULABLE_SELECT);
 			return true;
 		}
 		return false;
@@ -1079,13 +1071,13 @@ public class Display {
 			public void clickBehaviour(int event) {
 				if(event == EVENT_CONFIRM) {
 					System.out.println("confirm");
-					Communication.set(Intermediary.CONTROL, commandConfirm);
+					Intermediary.post(commandConfirm);
 					getParentFrame().remove();
 				}
 				else if (event == EVENT_DENY)
 				{
 					System.out.println("deny");
-					Communication.set(Intermediary.CONTROL, commandDeny);
+					Intermediary.post(commandDeny);
 					getParentFrame().remove();
 				}
 			}